@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmark;
+
+import com.mihaibojin.props.core.internal.KeyFilter;
+import com.mihaibojin.props.core.resolvers.ReadOnlyResolver;
+import com.mihaibojin.props.core.resolvers.Resolver;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares searching 6 resolver layers for keys that are only defined by the lowest priority layer,
+ * with and without consulting each layer's {@link KeyFilter} first.
+ *
+ * <p>The higher priority layers are backed by {@link Properties} objects, which, similarly to
+ * {@link System#getProperty(String)}, synchronize on every read.
+ */
+public class LayeredLookupBenchmarks {
+
+  public static final int LAYERS = 6;
+  public static final int KEYS_PER_LAYER = 10_000;
+
+  /** Queries every layer, in priority order, until a value is found. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void unfilteredLookup(LayersState state, Blackhole blackhole) {
+    for (String key : state.keys) {
+      for (Resolver layer : state.layers) {
+        String value = layer.get(key);
+        if (value != null) {
+          blackhole.consume(value);
+          break;
+        }
+      }
+    }
+  }
+
+  /** Only queries the layers whose filters might contain each key. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void filteredLookup(LayersState state, Blackhole blackhole) {
+    for (String key : state.keys) {
+      for (int i = 0; i < LAYERS; i++) {
+        if (!state.filters[i].mightContain(key)) {
+          continue;
+        }
+
+        String value = state.layers[i].get(key);
+        if (value != null) {
+          blackhole.consume(value);
+          break;
+        }
+      }
+    }
+  }
+
+  /** Initializes the layers, ordered by priority (highest first). */
+  @State(Scope.Benchmark)
+  public static class LayersState {
+
+    Resolver[] layers = new Resolver[LAYERS];
+    KeyFilter[] filters = new KeyFilter[LAYERS];
+    String[] keys = new String[KEYS_PER_LAYER];
+
+    /** Initialize the benchmark. */
+    @Setup
+    public void setup() {
+      for (int i = 0; i < LAYERS; i++) {
+        Properties properties = new Properties();
+        for (int k = 0; k < KEYS_PER_LAYER; k++) {
+          properties.setProperty("layer" + i + ".key." + k, "value");
+        }
+        layers[i] = new PropertiesResolver(properties);
+        filters[i] = KeyFilter.of(properties.stringPropertyNames());
+      }
+
+      // the benchmarked keys are only defined by the lowest priority layer
+      for (int k = 0; k < KEYS_PER_LAYER; k++) {
+        keys[k] = "layer" + (LAYERS - 1) + ".key." + k;
+      }
+    }
+  }
+
+  /** Resolves values from a {@link Properties} object. */
+  private static class PropertiesResolver extends ReadOnlyResolver {
+
+    private final Properties properties;
+
+    private PropertiesResolver(Properties properties) {
+      this.properties = properties;
+    }
+
+    @Override
+    public String get(String key) {
+      return properties.getProperty(key);
+    }
+
+    @Override
+    public String id() {
+      return "PROPERTIES";
+    }
+  }
+}
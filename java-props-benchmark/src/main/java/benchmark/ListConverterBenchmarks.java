@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmark;
+
+import com.mihaibojin.props.core.converters.Cast;
+import com.mihaibojin.props.core.converters.Converter;
+import com.mihaibojin.props.core.types.DoubleArray;
+import com.mihaibojin.props.core.types.IntArray;
+import com.mihaibojin.props.core.types.LongArray;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares decoding comma-separated numeric values into boxed {@link List}s and into primitive
+ * arrays ({@link IntArray}, {@link LongArray}, {@link DoubleArray}), and measures decoding lists of
+ * strings.
+ */
+public class ListConverterBenchmarks {
+
+  public static final int ITEMS = 16;
+
+  /** Decodes a list of longs into a boxed {@link List}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeListOfLong(ValuesState state, Blackhole blackhole) {
+    blackhole.consume(state.listOfLong.decode(state.longs));
+  }
+
+  /** Decodes a list of longs into a {@link LongArray}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeLongArray(ValuesState state, Blackhole blackhole) {
+    blackhole.consume(state.longArray.decode(state.longs));
+  }
+
+  /** Decodes a list of integers into a boxed {@link List}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeListOfInteger(ValuesState state, Blackhole blackhole) {
+    blackhole.consume(state.listOfInteger.decode(state.ints));
+  }
+
+  /** Decodes a list of integers into an {@link IntArray}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeIntArray(ValuesState state, Blackhole blackhole) {
+    blackhole.consume(state.intArray.decode(state.ints));
+  }
+
+  /** Decodes a list of doubles into a boxed {@link List}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeListOfDouble(ValuesState state, Blackhole blackhole) {
+    blackhole.consume(state.listOfDouble.decode(state.doubles));
+  }
+
+  /** Decodes a list of doubles into a {@link DoubleArray}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeDoubleArray(ValuesState state, Blackhole blackhole) {
+    blackhole.consume(state.doubleArray.decode(state.doubles));
+  }
+
+  /** Decodes a list of strings, e.g., an allowlist. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeListOfString(ValuesState state, Blackhole blackhole) {
+    blackhole.consume(state.listOfString.decode(state.strings));
+  }
+
+  /** Generates the values to decode, similarly to the <code>longlist.*</code> props. */
+  @State(Scope.Benchmark)
+  public static class ValuesState {
+
+    Converter<List<Long>> listOfLong = Cast.asListOfLong();
+    Converter<LongArray> longArray = Cast.asLongArray();
+    Converter<List<Integer>> listOfInteger = Cast.asListOfInteger();
+    Converter<IntArray> intArray = Cast.asIntArray();
+    Converter<List<Double>> listOfDouble = Cast.asListOfDouble();
+    Converter<DoubleArray> doubleArray = Cast.asDoubleArray();
+    Converter<List<String>> listOfString = Cast.asListOfString();
+
+    String longs;
+    String ints;
+    String doubles;
+    String strings;
+
+    /** Initialize the benchmark. */
+    @Setup
+    public void setup() {
+      long baseValue = Instant.now().toEpochMilli();
+      StringBuilder longValues = new StringBuilder();
+      StringBuilder intValues = new StringBuilder();
+      StringBuilder doubleValues = new StringBuilder();
+      StringBuilder stringValues = new StringBuilder();
+      for (int i = 0; i < ITEMS; i++) {
+        String separator = i == 0 ? "" : ",";
+        longValues.append(separator).append(baseValue + i);
+        intValues.append(separator).append((int) (baseValue % 100_000) + i);
+        doubleValues.append(separator).append((baseValue + i) / 1000d);
+        stringValues.append(separator).append("host-").append(baseValue + i).append(".local");
+      }
+
+      longs = longValues.toString();
+      ints = intValues.toString();
+      doubles = doubleValues.toString();
+      strings = stringValues.toString();
+    }
+  }
+}
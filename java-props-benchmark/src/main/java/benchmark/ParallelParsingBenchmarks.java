@@ -0,0 +1,91 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmark;
+
+import com.mihaibojin.props.core.resolvers.PropertyFileResolver;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures loading a large (~50MB) properties file with a {@link PropertyFileResolver}, which
+ * splits it into as many chunks as there are threads.
+ */
+public class ParallelParsingBenchmarks {
+
+  public static final int LINES = 1_000_000;
+
+  /** Loads the file with a new resolver. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void load(FileState state, Blackhole blackhole) {
+    PropertyFileResolver resolver =
+        new PropertyFileResolver(state.file).parallelism(state.threads, state.executor);
+    blackhole.consume(resolver.reload());
+  }
+
+  /** Generates the file, and starts the threads which parse all but the first chunk. */
+  @State(Scope.Benchmark)
+  public static class FileState {
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    Path file;
+    ExecutorService executor;
+
+    /** Initialize the benchmark. */
+    @Setup
+    public void setup() throws IOException {
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < LINES; i++) {
+        sb.append("com.example.catalog.item")
+            .append(i)
+            .append(".description=Item number ")
+            .append(i)
+            .append('\n');
+      }
+      file = Files.createTempFile("jmh", ".properties");
+      Files.write(file, sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+      executor = Executors.newFixedThreadPool(Math.max(threads - 1, 1));
+    }
+
+    /** Stop the executor, and delete the file. */
+    @TearDown
+    public void tearDown() throws IOException {
+      executor.shutdown();
+      Files.deleteIfExists(file);
+    }
+  }
+}
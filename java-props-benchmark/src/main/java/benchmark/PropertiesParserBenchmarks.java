@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmark;
+
+import com.mihaibojin.props.core.resolvers.PropertyFileResolver;
+import com.mihaibojin.props.core.resolvers.ResolverUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares reloading a properties file with {@link PropertyFileResolver}, which parses it directly
+ * into an immutable table and diffs it against the previous table, against loading it into {@link
+ * Properties}, copying it into a map, and merging that into a store.
+ *
+ * <p>Before each invocation, the file is replaced by the other of two versions, which differ in 1%
+ * of their values.
+ */
+public class PropertiesParserBenchmarks {
+
+  /** Loads the file with {@link Properties#load(java.io.InputStream)}, and merges it. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void reloadWithProperties(FileState state, Blackhole blackhole) throws IOException {
+    Properties properties = new Properties();
+    try (InputStream stream = Files.newInputStream(state.file)) {
+      properties.load(stream);
+    }
+    Map<String, String> updated = new HashMap<>();
+    for (String key : properties.stringPropertyNames()) {
+      updated.put(key, properties.getProperty(key));
+    }
+    blackhole.consume(ResolverUtils.mergeMapsInPlace(state.store, updated));
+  }
+
+  /** Reloads the file with a {@link PropertyFileResolver}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void reloadWithResolver(FileState state, Blackhole blackhole) {
+    blackhole.consume(state.resolver.reload());
+  }
+
+  /** Generates two versions of a properties file, with the configured number of lines. */
+  @State(Scope.Benchmark)
+  public static class FileState {
+
+    @Param({"1000", "100000", "1000000"})
+    int lines;
+
+    byte[][] versions = new byte[2][];
+    Path file;
+    Map<String, String> store = new HashMap<>();
+    PropertyFileResolver resolver;
+    int invocations;
+
+    /** Initialize the benchmark. */
+    @Setup
+    public void setup() throws IOException {
+      for (int version = 0; version < versions.length; version++) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+          int value = i % 100 == 0 ? i + version : i;
+          sb.append("com.example.service.key")
+              .append(i)
+              .append('=')
+              .append("some value ")
+              .append(value)
+              .append('\n');
+        }
+        versions[version] = sb.toString().getBytes(StandardCharsets.ISO_8859_1);
+      }
+
+      file = Files.createTempFile("jmh", ".properties");
+      Files.write(file, versions[0]);
+      resolver = new PropertyFileResolver(file, true);
+      resolver.reload();
+      for (String key : resolver.keys()) {
+        store.put(key, resolver.get(key));
+      }
+    }
+
+    /** Replaces the file with the next version, and marks it as modified. */
+    @Setup(Level.Invocation)
+    public void next() throws IOException {
+      invocations++;
+      Files.write(file, versions[invocations % versions.length]);
+      // a distinct modification time ensures that the resolver reloads the file
+      Files.setLastModifiedTime(file, FileTime.from(Instant.EPOCH.plusSeconds(invocations)));
+    }
+
+    /** Delete the file. */
+    @TearDown
+    public void tearDown() throws IOException {
+      Files.deleteIfExists(file);
+    }
+  }
+}
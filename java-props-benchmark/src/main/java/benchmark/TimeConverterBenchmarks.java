@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package benchmark;
+
+import com.mihaibojin.props.core.converters.Cast;
+import com.mihaibojin.props.core.converters.Converter;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares decoding canonical ISO-8601 timestamps and durations with the {@link Instant} and {@link
+ * Duration} converters, against the JDK parsers they previously delegated to.
+ */
+public class TimeConverterBenchmarks {
+
+  public static final int VALUES = 100;
+
+  /** Parses timestamps with {@link OffsetDateTime#parse(CharSequence)}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void parseInstantWithJdk(ValuesState state, Blackhole blackhole) {
+    for (String value : state.instants) {
+      blackhole.consume(OffsetDateTime.parse(value).toInstant());
+    }
+  }
+
+  /** Decodes timestamps with {@link Cast#asInstant()}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeInstant(ValuesState state, Blackhole blackhole) {
+    for (String value : state.instants) {
+      blackhole.consume(state.instantConverter.decode(value));
+    }
+  }
+
+  /** Parses durations with {@link Duration#parse(CharSequence)}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void parseDurationWithJdk(ValuesState state, Blackhole blackhole) {
+    for (String value : state.durations) {
+      blackhole.consume(Duration.parse(value));
+    }
+  }
+
+  /** Decodes durations with {@link Cast#asDuration()}. */
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Fork(value = 1, warmups = 1)
+  public void decodeDuration(ValuesState state, Blackhole blackhole) {
+    for (String value : state.durations) {
+      blackhole.consume(state.durationConverter.decode(value));
+    }
+  }
+
+  /** Generates expiry timestamps and timeouts, in their canonical forms. */
+  @State(Scope.Benchmark)
+  public static class ValuesState {
+
+    Converter<Instant> instantConverter = Cast.asInstant();
+    Converter<Duration> durationConverter = Cast.asDuration();
+    String[] instants = new String[VALUES];
+    String[] durations = new String[VALUES];
+
+    /** Initialize the benchmark. */
+    @Setup
+    public void setup() {
+      Instant now = Instant.now();
+      for (int i = 0; i < VALUES; i++) {
+        // alternate between second and millisecond precision
+        Instant expiry = now.plus(Duration.ofHours(i)).plusMillis(i % 2 == 0 ? 0 : i);
+        instants[i] = expiry.toString();
+        durations[i] = Duration.ofSeconds(i * 37L).toString();
+      }
+    }
+  }
+}
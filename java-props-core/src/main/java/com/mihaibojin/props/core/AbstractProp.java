@@ -21,12 +21,22 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 import com.mihaibojin.props.core.annotations.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.SubmissionPublisher;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 public abstract class AbstractProp<T> implements Prop<T> {
 
+  // mirrors SubmissionPublisher's default, which falls back to a thread per task if the common pool
+  // does not support parallelism
+  private static final Executor DEFAULT_UPDATE_EXECUTOR =
+      ForkJoinPool.getCommonPoolParallelism() > 1
+          ? ForkJoinPool.commonPool()
+          : task -> new Thread(task).start();
+
   public final String key;
   @Nullable private final T defaultValue;
   @Nullable private final String description;
@@ -90,15 +100,39 @@ public abstract class AbstractProp<T> implements Prop<T> {
     try {
       validateBeforeSet(updateValue);
     } catch (RuntimeException e) {
-      publisher().closeExceptionally(e);
+      failUpdate(e);
       throw e;
     }
 
-    currentValue = updateValue;
+    // serialize concurrent updates, so that subclasses' derived state matches the published value
+    synchronized (this) {
+      onValueSet(nonNull(updateValue) ? updateValue : defaultValue);
+      currentValue = updateValue;
+    }
 
     publisher().submit(updateValue);
   }
 
+  /**
+   * Called when the prop's value is updated, before the update is published, with its new effective
+   * value (the updated value or, if <code>null</code>, the default); allows subclasses to maintain
+   * derived state (e.g., an unboxed copy of the value). Calls are serialized.
+   *
+   * <p>Since the update is published afterwards, derived state read after {@link
+   * #hasEffectiveValue()} is at least as recent as the value it observed.
+   */
+  //  deepcode ignore EmptyMethodInAbstractClassShouldBeAbstract: method intentionally left empty
+  protected void onValueSet(@Nullable T effectiveValue) {}
+
+  /**
+   * Notifies the current subscribers that the prop could not be updated, completing their
+   * subscriptions exceptionally; the prop keeps its current value, and subscribers registered
+   * afterwards are notified of subsequent updates.
+   */
+  void failUpdate(Throwable error) {
+    publisher().closeExceptionally(error);
+  }
+
   /** Retrieve this property's value. */
   @Nullable
   T getValueInternal() {
@@ -115,15 +149,36 @@ public abstract class AbstractProp<T> implements Prop<T> {
     return value;
   }
 
+  /**
+   * Returns <code>true</code> if the prop has a current value or a default, with a single volatile
+   * read.
+   */
+  protected final boolean hasEffectiveValue() {
+    return nonNull(currentValue) || nonNull(defaultValue);
+  }
+
   private final AtomicReference<SubmissionPublisher<T>> publisher = new AtomicReference<>();
+  //  deepcode ignore AvoidUsingVolatile: set when bound, read for each notification
+  private volatile Executor updateExecutor = DEFAULT_UPDATE_EXECUTOR;
+
+  /**
+   * Sets the executor on which subscribers are notified; also applies to existing subscribers,
+   * since the publisher always delegates to the current executor.
+   */
+  void updateExecutor(Executor executor) {
+    updateExecutor = executor;
+  }
 
   /** Returns the {@link SubmissionPublisher} instance to use for the current Prop. */
   @SuppressWarnings("NullAway")
   private SubmissionPublisher<T> publisher() {
     SubmissionPublisher<T> pub = publisher.get();
-    if (isNull(pub)) {
-      pub = new SubmissionPublisher<>();
-      if (!publisher.compareAndSet(null, pub)) {
+    // replace publishers closed by a failed update, since they no longer accept items
+    if (isNull(pub) || pub.isClosed()) {
+      SubmissionPublisher<T> current = pub;
+      pub =
+          new SubmissionPublisher<>(task -> updateExecutor.execute(task), Flow.defaultBufferSize());
+      if (!publisher.compareAndSet(current, pub)) {
         // if we've failed to set it, another thread has done so
         // retrieve the latest and most correct value
         pub = publisher.get();
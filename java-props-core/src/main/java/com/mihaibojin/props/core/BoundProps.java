@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static java.util.Objects.isNull;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores all the {@link Prop}s bound to a {@link Props} registry.
+ *
+ * <p>Each prop is assigned a dense integer slot at bind time; the prop, any resolver it was pinned
+ * to, and the raw value its current value was decoded from are kept in parallel arrays, indexed by
+ * slot. Slots are never reused.
+ *
+ * <p>Binding is synchronized, while reads are lock-free: arrays are only replaced (when grown)
+ * before a new slot is published, so any slot obtained via {@link #slot(String)} is always valid
+ * for the arrays observed afterwards.
+ */
+final class BoundProps {
+
+  static final int NOT_BOUND = -1;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+  //  deepcode ignore AvoidUsingVolatile: arrays are replaced when grown and read without locking
+  private volatile Prop<?>[] props = new Prop<?>[INITIAL_CAPACITY];
+  private volatile String[] resolverIds = new String[INITIAL_CAPACITY];
+  private volatile Snapshot.Entry[] entries = new Snapshot.Entry[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Assigns a slot to the specified prop, or returns its existing slot if the same object was
+   * already bound.
+   *
+   * @throws BindException if another prop was already bound for the same key
+   */
+  synchronized int bind(Prop<?> prop, @Nullable String resolverId) {
+    Integer existing = slots.get(prop.key());
+    if (!isNull(existing)) {
+      Prop<?> oldProp = props[existing];
+      if (oldProp != prop) {
+        throw new BindException(prop.key(), oldProp);
+      }
+
+      // allow re-binding the same object, in which case only update its resolver
+      if (!isNull(resolverId)) {
+        resolverIds[existing] = resolverId;
+      }
+      return existing;
+    }
+
+    if (size == props.length) {
+      int capacity = size * 2;
+      entries = Arrays.copyOf(entries, capacity);
+      resolverIds = Arrays.copyOf(resolverIds, capacity);
+      props = Arrays.copyOf(props, capacity);
+    }
+
+    int slot = size++;
+    resolverIds[slot] = resolverId;
+    props[slot] = prop;
+
+    // publish the slot last, after the arrays have been populated
+    slots.put(prop.key(), slot);
+    return slot;
+  }
+
+  /** Returns the number of bound props; slots are assigned in the range [0, size). */
+  synchronized int size() {
+    return size;
+  }
+
+  /** Returns the slot assigned to the specified key, or {@link #NOT_BOUND}. */
+  int slot(String key) {
+    Integer slot = slots.get(key);
+    return isNull(slot) ? NOT_BOUND : slot;
+  }
+
+  /** Returns the prop stored in the specified slot. */
+  Prop<?> prop(int slot) {
+    return props[slot];
+  }
+
+  /** Returns the id of the resolver the prop stored in the specified slot is pinned to, if any. */
+  @Nullable
+  String resolverId(int slot) {
+    return resolverIds[slot];
+  }
+
+  /**
+   * Returns the raw value (and its source) from which the current value of the prop stored in the
+   * specified slot was decoded, or <code>null</code> if it was not resolved from any resolver.
+   */
+  @Nullable
+  Snapshot.Entry entry(int slot) {
+    return entries[slot];
+  }
+
+  /**
+   * Records the raw value from which the prop stored in the specified slot was decoded.
+   *
+   * <p>Synchronized with {@link #bind(Prop, String)}, to ensure that writes are not lost while the
+   * arrays are grown.
+   */
+  synchronized void setEntry(int slot, @Nullable Snapshot.Entry entry) {
+    entries[slot] = entry;
+  }
+
+  /** Returns the prop bound for the specified key, or <code>null</code>. */
+  @Nullable
+  Prop<?> get(String key) {
+    int slot = slot(key);
+    return slot == NOT_BOUND ? null : props[slot];
+  }
+}
@@ -21,99 +21,347 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.logging.Level.FINER;
 import static java.util.logging.Level.SEVERE;
+import static java.util.logging.Level.WARNING;
 
 import com.mihaibojin.props.core.annotations.Nullable;
 import com.mihaibojin.props.core.converters.Cast;
 import com.mihaibojin.props.core.converters.Converter;
-import com.mihaibojin.props.core.internal.TemplateStringUtils;
+import com.mihaibojin.props.core.internal.KeyFilter;
+import com.mihaibojin.props.core.internal.Template;
+import com.mihaibojin.props.core.internal.VirtualThreads;
 import com.mihaibojin.props.core.resolvers.PropertyFileResolver;
 import com.mihaibojin.props.core.resolvers.Resolver;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-public class Props {
+public class Props implements AutoCloseable {
 
   private static final Logger log = Logger.getLogger(PropertyFileResolver.class.getName());
+  private final RefreshScheduler scheduler;
+  // the scheduler's thread, which also applies changes
   private final ScheduledExecutorService executor;
-  private final Map<String, Prop<?>> boundProps = new ConcurrentHashMap<>();
-  private final Map<String, String> propIdToResolver = new ConcurrentHashMap<>();
+  // runs resolver reloads, potentially in parallel
+  private final ExecutorService refreshExecutor;
+  // notifies the subscribers of bound props, if not using each prop's default
+  @Nullable private final Executor updateExecutor;
+  // executors created by this registry, which are shut down with it
+  private final List<ExecutorService> ownedExecutors = new ArrayList<>();
+  private final ReloadMetrics reloadMetrics = new ReloadMetrics();
+  private final Thread shutdownHook = new Thread(this::close);
+  private final AtomicBoolean isClosed = new AtomicBoolean();
+  private final BoundProps boundProps = new BoundProps();
+  // compiled templates, by key, which are recompiled when the template's value changes
+  private final Map<String, Template> templates = new ConcurrentHashMap<>();
+  // the keys referenced by each bound template prop
+  private final TemplateDependencies templateDependencies = new TemplateDependencies();
   private final CountDownLatch latch = new CountDownLatch(1);
 
   private final List<String> prioritizedResolvers;
   private final Map<String, Resolver> resolvers;
+  // all resolvers, indexed by priority (highest first)
+  private final List<Resolver> layers;
+  // resolvers whose values are merged into the snapshot, indexed by priority (highest first)
+  private final Resolver[] mergedLayers;
+  // resolvers which cannot enumerate their keys, and their priority, queried on every read
+  private final Resolver[] liveLayers;
+  private final int[] liveRanks;
+  // bloom filters over the keys of each merged layer, only accessed by the scheduler thread
+  private final KeyFilter[] layerFilters;
+  // listeners registered with the scheduler for each layer, indexed by priority (highest first)
+  private final RefreshScheduler.ReloadListener[] reloadListeners;
+  //  deepcode ignore AvoidUsingVolatile: set by the scheduler, read by reload threads
+  private volatile boolean isLoaded;
+  // keys changed by each layer, which were not yet applied, indexed by priority (highest first)
+  private final List<Set<String>> pendingChanges;
+  private final AtomicBoolean isApplyScheduled = new AtomicBoolean();
+  //  deepcode ignore AvoidUsingVolatile: published once per update phase, read by many threads
+  private volatile Snapshot snapshot = Snapshot.EMPTY;
   private final Duration shutdownGracePeriod;
   private final Duration refreshInterval;
-
-  private Props(
-      LinkedHashMap<String, Resolver> resolvers,
-      Duration refreshInterval,
-      Duration shutdownGracePeriod) {
-    this.resolvers = Collections.unmodifiableMap(resolvers);
+  // resolved values are saved to this file, and restored from it when the registry is created
+  @Nullable private final Path snapshotFile;
+  // the resolvers whose values are not saved to the snapshot file
+  private final Set<String> unsavedResolvers;
+  // if true, unpinned keys are served from the restored snapshot until the initial load completes
+  private final boolean isWarmStarted;
+  // the version of the snapshot which was last saved to (or restored from) the snapshot file;
+  // guarded by this
+  private long savedVersion;
+
+  private Props(Factory factory) {
+    LinkedHashMap<String, Resolver> resolvers = factory.resolvers;
+    this.resolvers = Collections.unmodifiableMap(new LinkedHashMap<>(resolvers));
 
     // generate a list of resolver IDs, ordered by priority (highest first)
     List<String> ids = new ArrayList<>(resolvers.keySet());
     Collections.reverse(ids);
     prioritizedResolvers = Collections.unmodifiableList(ids);
+    // the resolvers, in the same order as their ids
+    List<Resolver> layers = new ArrayList<>(resolvers.values());
+    Collections.reverse(layers);
+    this.layers = Collections.unmodifiableList(layers);
+
+    // split the resolvers into layers which can be merged into a snapshot and live layers
+    mergedLayers = new Resolver[ids.size()];
+    reloadListeners = new RefreshScheduler.ReloadListener[ids.size()];
+    pendingChanges = new ArrayList<>(ids.size());
+    List<Integer> live = new ArrayList<>();
+    for (int rank = 0; rank < ids.size(); rank++) {
+      Resolver resolver = layers.get(rank);
+      int layer = rank;
+      reloadListeners[rank] = (changed, nanos) -> onReload(layer, changed, nanos);
+      pendingChanges.add(new HashSet<>());
+      if (nonNull(resolver.keys())) {
+        mergedLayers[rank] = resolver;
+      } else {
+        live.add(rank);
+      }
+    }
+    layerFilters = new KeyFilter[ids.size()];
+    liveLayers = new Resolver[live.size()];
+    liveRanks = new int[live.size()];
+    for (int i = 0; i < live.size(); i++) {
+      liveRanks[i] = live.get(i);
+      liveLayers[i] = layers.get(liveRanks[i]);
+    }
 
-    this.refreshInterval = refreshInterval;
-    this.shutdownGracePeriod = shutdownGracePeriod;
-
-    // create an executor with Daemon threads, allowing the executor to shutdown when all
-    // non-daemon threads exit
-    // this executor will only be used for refreshing resolvers, and as such a single
-    // thread should ever be run at the same time
-    executor =
-        Executors.newScheduledThreadPool(
-            1,
-            runnable -> {
-              Thread thread = Executors.defaultThreadFactory().newThread(runnable);
-              thread.setDaemon(true);
-              return thread;
-            });
-
-    // register a shutdown hook, allowing the executor to gracefully shutdown
-    Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+    refreshInterval = factory.refreshInterval;
+    shutdownGracePeriod = factory.shutdownGracePeriod;
+
+    // restore the values resolved by a previous run, which are served until resolvers are loaded
+    snapshotFile = factory.snapshotFile;
+    unsavedResolvers = factory.unsavedResolvers;
+    Snapshot restored = nonNull(snapshotFile) ? SnapshotFile.read(snapshotFile, ids) : null;
+    isWarmStarted = nonNull(restored);
+    if (nonNull(restored)) {
+      snapshot = restored;
+      savedVersion = restored.version;
+    }
+
+    // the scheduler's thread (which may be shared with other registries) schedules reloads and
+    // applies their changes; since it is single-threaded, changes are applied in a consistent
+    // order, one batch at a time
+    scheduler = nonNull(factory.scheduler) ? factory.scheduler : new RefreshScheduler();
+    executor = scheduler.acquire();
+
+    // if requested and supported by the JVM, run blocking work on virtual threads, which do not
+    // occupy platform threads while waiting on I/O
+    boolean useVirtualThreads = factory.useVirtualThreads;
+    ExecutorService virtualExecutor = useVirtualThreads ? VirtualThreads.newExecutor() : null;
+    if (useVirtualThreads && isNull(virtualExecutor)) {
+      log.info(() -> "Virtual threads are not supported by this JVM; using platform threads");
+    }
+    if (!isNull(virtualExecutor)) {
+      ownedExecutors.add(virtualExecutor);
+    }
+
+    // resolvers are reloaded on a dedicated, bounded pool (unless one was provided), since reloads
+    // may block on I/O and should not occupy threads shared with the rest of the application
+    if (nonNull(factory.refreshExecutor)) {
+      refreshExecutor = factory.refreshExecutor;
+    } else if (!isNull(virtualExecutor)) {
+      refreshExecutor = virtualExecutor;
+    } else {
+      int parallelism =
+          factory.refreshParallelism > 0
+              ? factory.refreshParallelism
+              : Math.min(resolvers.size(), Runtime.getRuntime().availableProcessors());
+      refreshExecutor = Executors.newFixedThreadPool(parallelism, Props::newDaemonThread);
+      ownedExecutors.add(refreshExecutor);
+    }
+
+    updateExecutor = nonNull(factory.updateExecutor) ? factory.updateExecutor : virtualExecutor;
+
+    // register a shutdown hook, allowing the executors to gracefully shutdown
+    Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+    // independently schedule each resolver, according to its refresh policy
+    for (int rank = 0; rank < ids.size(); rank++) {
+      Resolver resolver = layers.get(rank);
+      RefreshPolicy policy =
+          factory.policies.getOrDefault(resolver.id(), RefreshPolicy.every(refreshInterval));
+      scheduler.register(resolver, policy, refreshExecutor, reloadListeners[rank]);
+    }
 
     // perform an initial load, ensuring that all resolvers have values
-    executor.submit(
-        () -> {
-          this.resolvers.entrySet().parallelStream().forEach(Props::safeReload);
-          latch.countDown();
-        });
+    loadAll().thenRunAsync(this::completeInitialLoad, executor);
+  }
+
+  /** Builds the initial snapshot, after all resolvers were loaded. */
+  private void completeInitialLoad() {
+    // changes reported from now on are queued and applied after this method returns; any prior
+    // changes are already reflected in the snapshot built below
+    isLoaded = true;
 
-    // and schedule a period refresh operation
-    executor.scheduleAtFixedRate(
-        () -> refreshResolvers(this.resolvers),
-        refreshInterval.toMillis(),
-        refreshInterval.toMillis(),
-        TimeUnit.MILLISECONDS);
+    for (int rank = 0; rank < mergedLayers.length; rank++) {
+      if (nonNull(mergedLayers[rank])) {
+        layerFilters[rank] = KeyFilter.of(keysOf(mergedLayers[rank]));
+      }
+    }
+
+    // if the restored snapshot is still accurate, keep it, avoiding an unnecessary save
+    Snapshot previous = snapshot;
+    Snapshot loaded = Snapshot.build(mergedLayers, previous);
+    Set<String> changed = isWarmStarted ? loaded.changedSince(previous) : null;
+    if (isNull(changed) || !changed.isEmpty()) {
+      snapshot = loaded;
+    }
+    latch.countDown();
+
+    // props bound before the initial load completed (e.g., if waiting for it timed out) were
+    // resolved against an empty (or restored) snapshot, and must be updated; props whose raw
+    // values did not change are skipped
+    int[] slots = IntStream.range(0, boundProps.size()).toArray();
+    updateAll(slots);
+
+    // templates may have been rendered before the props referenced by their tokens were updated;
+    // when warm-started, only the changed keys need to be re-rendered, unless live resolvers
+    // (which were not loaded at the time) were also queried
+    if (isNull(changed) || liveLayers.length > 0) {
+      List<String> keys = new ArrayList<>(slots.length);
+      for (int slot : slots) {
+        keys.add(boundProps.prop(slot).key());
+      }
+      renderDependents(keys);
+    } else {
+      renderDependents(changed);
+    }
+
+    saveSnapshotAsync();
+  }
+
+  /** Saves the current snapshot on the refresh executor, if a snapshot file was configured. */
+  private void saveSnapshotAsync() {
+    if (isNull(snapshotFile)) {
+      return;
+    }
+
+    try {
+      refreshExecutor.execute(this::saveSnapshot);
+    } catch (RejectedExecutionException e) {
+      // the registry is shutting down, and will save the snapshot when closed
+    }
   }
 
   /**
-   * Safely reload all the values managed by the specified {@link Resolver} and logs any exceptions.
+   * Saves the current snapshot to the snapshot file, if one was configured and the snapshot changed
+   * since it was last saved.
+   *
+   * <p>Synchronized, so that an older snapshot never replaces a newer one.
    */
-  private static Set<String> safeReload(Entry<String, Resolver> res) {
+  private synchronized void saveSnapshot() {
+    Path file = snapshotFile;
+    Snapshot current = snapshot;
+    if (isNull(file) || current.version == savedVersion) {
+      return;
+    }
+
     try {
-      return res.getValue().reload();
-    } catch (Throwable t) {
-      log.log(SEVERE, t, () -> format("Unexpected error reloading props from %s", res.getKey()));
+      SnapshotFile.write(file, current, this::isSaved);
+      savedVersion = current.version;
+    } catch (IOException e) {
+      log.log(WARNING, e, () -> format("Could not save the resolved props to %s", file));
     }
-    return Set.of();
+  }
+
+  /**
+   * Returns true if the specified entry can be saved to the snapshot file, i.e., if its resolver
+   * was not excluded, and its key is not bound to a secret prop.
+   */
+  private boolean isSaved(String key, Snapshot.Entry entry) {
+    if (unsavedResolvers.contains(entry.resolverId)) {
+      return false;
+    }
+
+    Prop<?> prop = boundProps.get(key);
+    return isNull(prop) || !prop.isSecret();
+  }
+
+  /** Creates daemon threads, allowing executors to shutdown when all non-daemon threads exit. */
+  static Thread newDaemonThread(Runnable runnable) {
+    Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  /** Records the outcome of a reload of the layer with the specified rank, and its changes. */
+  private void onReload(int rank, @Nullable Set<String> changed, long nanos) {
+    reloadMetrics.recordReload(nanos, isNull(changed));
+
+    // changes reported before the initial snapshot is built are included in it
+    if (!isNull(changed) && isLoaded) {
+      queueChanges(rank, changed);
+    }
+  }
+
+  /**
+   * Records the keys changed by the layer with the specified rank and, unless already pending,
+   * schedules a single update phase which applies all queued changes.
+   */
+  private void queueChanges(int rank, Set<String> changed) {
+    if (changed.isEmpty()) {
+      return;
+    }
+
+    synchronized (pendingChanges) {
+      pendingChanges.get(rank).addAll(changed);
+    }
+
+    if (isApplyScheduled.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::applyChanges);
+      } catch (RejectedExecutionException e) {
+        // the registry is shutting down
+      }
+    }
+  }
+
+  /**
+   * Loads all the resolvers on the refresh executor, in parallel.
+   *
+   * @return a future which completes once all resolvers were loaded
+   */
+  private CompletableFuture<Void> loadAll() {
+    long start = System.nanoTime();
+
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[resolvers.size()];
+    int i = 0;
+    for (Resolver resolver : resolvers.values()) {
+      futures[i++] = scheduler.reload(resolver, refreshExecutor);
+    }
+
+    return CompletableFuture.allOf(futures)
+        .whenComplete((ignored, t) -> reloadMetrics.recordBlocked(System.nanoTime() - start));
+  }
+
+  /** Returns all the keys defined by the specified resolver, or an empty set. */
+  private static Set<String> keysOf(Resolver resolver) {
+    Set<String> keys = resolver.keys();
+    return isNull(keys) ? Set.of() : keys;
   }
 
   /** Convenience method for configuring {@link Props} registry objects. */
@@ -134,19 +382,18 @@ public class Props {
    *     registry.
    */
   public <T, R extends Prop<T>> R bind(R prop, @Nullable String resolverId) {
-    Prop<?> oldProp = boundProps.putIfAbsent(prop.key(), prop);
-    if (nonNull(oldProp) && oldProp != prop) {
-      throw new BindException(prop.key(), oldProp);
-    }
-
     // NullAway does not recognize Objects.nonNull (https://github.com/uber/NullAway/issues/393)
     if (!Objects.isNull(resolverId)) {
       // only register the prop with a resolver, if the id is non-null and valid
       validateResolver(resolverId);
-      propIdToResolver.put(prop.key(), resolverId);
     }
 
-    update(prop);
+    int slot = boundProps.bind(prop, resolverId);
+    deliverUpdates(slot);
+    updateAll(new int[] {slot});
+
+    // templates referencing the prop's key are now rendered with its value
+    renderDependents(List.of(prop.key()));
 
     return prop;
   }
@@ -160,6 +407,56 @@ public class Props {
     return bind(prop, null);
   }
 
+  /**
+   * Binds all the specified props to the current {@link Props} registry, resolving their values in
+   * a single pass per {@link Resolver}.
+   *
+   * <p>If a non-null <code>resolverId</code> is specified, it will link all the props to that
+   * resolver.
+   *
+   * @throws BindException if attempting to bind a {@link Prop} for a key which was already bound to
+   *     another object; any props processed before the failing one remain bound, but their values
+   *     are not resolved until the next refresh
+   * @throws IllegalArgumentException if the specified <code>resolverId</code> is not known to the
+   *     registry.
+   * @see #bind(Prop, String)
+   */
+  public void bindAll(Collection<? extends Prop<?>> props, @Nullable String resolverId) {
+    // NullAway does not recognize Objects.nonNull (https://github.com/uber/NullAway/issues/393)
+    if (!Objects.isNull(resolverId)) {
+      validateResolver(resolverId);
+    }
+
+    int[] slots = new int[props.size()];
+    List<String> keys = new ArrayList<>(props.size());
+    int i = 0;
+    for (Prop<?> prop : props) {
+      slots[i] = boundProps.bind(prop, resolverId);
+      deliverUpdates(slots[i++]);
+      keys.add(prop.key());
+    }
+
+    updateAll(slots);
+    renderDependents(keys);
+  }
+
+  /**
+   * Convenience method for binding multiple {@link Prop}s, without linking them to a resolver.
+   *
+   * @see #bindAll(Collection, String)
+   */
+  public void bindAll(Collection<? extends Prop<?>> props) {
+    bindAll(props, null);
+  }
+
+  /** Notifies the subscribers of the prop stored in the specified slot on the update executor. */
+  private void deliverUpdates(int slot) {
+    Executor executor = updateExecutor;
+    if (!isNull(executor)) {
+      ((AbstractProp<?>) boundProps.prop(slot)).updateExecutor(executor);
+    }
+  }
+
   /**
    * Returns an existing (bound) {@link Prop} object, or <code>null</code> if one does not exist for
    * the specified key.
@@ -181,35 +478,234 @@ public class Props {
     return (R) boundProps.get(key);
   }
 
+  /**
+   * Updates all the {@link Prop}s stored in the specified slots, resolving their values in a single
+   * pass per {@link Resolver}.
+   */
+  private void updateAll(int[] slots) {
+    // group keys by the resolver their props are pinned to, allowing each group to be resolved
+    // in bulk
+    List<String> unpinned = new ArrayList<>(slots.length);
+    Map<String, List<String>> pinned = new HashMap<>();
+    for (int slot : slots) {
+      String key = boundProps.prop(slot).key();
+      String resolverId = boundProps.resolverId(slot);
+      if (isNull(resolverId)) {
+        unpinned.add(key);
+      } else {
+        pinned.computeIfAbsent(resolverId, id -> new ArrayList<>()).add(key);
+      }
+    }
+
+    Map<String, Snapshot.Entry> entries = resolveEntries(unpinned, null);
+    for (Entry<String, List<String>> group : pinned.entrySet()) {
+      entries.putAll(resolveEntries(group.getValue(), group.getKey()));
+    }
+
+    for (int slot : slots) {
+      update(slot, entries.get(boundProps.prop(slot).key()));
+    }
+  }
+
   /**
    * Updates the {@link Prop}'s current value.
    *
    * @return true if the property was updated, or false if it kept its value
    */
   protected <T> boolean update(Prop<T> prop) {
+    int slot = boundProps.slot(prop.key());
+    if (slot == BoundProps.NOT_BOUND || boundProps.prop(slot) != prop) {
+      return false;
+    }
+
+    String key = prop.key();
+    return update(slot, resolveEntries(List.of(key), boundProps.resolverId(slot)).get(key));
+  }
+
+  /**
+   * Updates the current value of the {@link Prop} stored in the specified slot, from its resolved
+   * entry.
+   *
+   * @return true if the property was updated, or false if it kept its value
+   */
+  @SuppressWarnings("unchecked")
+  private <T> boolean update(int slot, @Nullable Snapshot.Entry entry) {
+    // if the winning raw value and its source have not changed, the decoded value would not either
+    Snapshot.Entry previous = boundProps.entry(slot);
+    if (nonNull(entry) && entry.isSameValue(previous)) {
+      return false;
+    }
+
+    if (boundProps.prop(slot) instanceof TemplateProp) {
+      return render(slot, entry);
+    }
+
+    AbstractProp<T> prop = (AbstractProp<T>) boundProps.prop(slot);
+
     // retrieve the Prop's current value
-    T currentValue = ((AbstractProp<T>) prop).getValueInternal();
+    T currentValue = prop.getValueInternal();
 
-    // determine if the prop is linked to a specific resolver
-    String resolverId = propIdToResolver.get(prop.key());
-    // resolve the Props' updated value
-    T updatedValue = resolveProp(prop, resolverId);
+    // decode the Props' updated value
+    T updatedValue =
+        nonNull(entry) ? decode(prop.key(), entry.value, entry.resolverId, prop) : null;
 
     // if the value has changed
-    if (!Objects.equals(currentValue, updatedValue)) {
+    boolean changed = !Objects.equals(currentValue, updatedValue);
+    if (changed) {
       // update the current value
-      ((AbstractProp<T>) prop).setValue(updatedValue);
-      return true;
+      prop.setValue(updatedValue);
     }
 
-    // otherwise return false, since no updates took place
-    return false;
+    // only record the raw value once the prop was successfully updated
+    boundProps.setEntry(slot, entry);
+    return changed;
   }
 
-  /** Search all resolvers for a value. */
-  @Nullable
-  <T> T resolveProp(Prop<T> prop, @Nullable String resolverId) {
-    return resolveByKey(prop.key(), prop, resolverId);
+  /**
+   * Renders the template prop stored in the specified slot, from the resolved template and the
+   * current values of its tokens, and records the tokens it depends on.
+   *
+   * @return true if the rendered value was updated, or false if it was not changed
+   */
+  private boolean render(int slot, @Nullable Snapshot.Entry entry) {
+    TemplateProp prop = (TemplateProp) boundProps.prop(slot);
+    String resolverId = boundProps.resolverId(slot);
+
+    // templates can be rendered concurrently by binding threads and by update phases; the last
+    // render observes the latest values
+    synchronized (prop) {
+      String rendered = null;
+      try {
+        if (nonNull(entry)) {
+          Template template = prop.compile(entry.value);
+          templateDependencies.update(prop.key(), template.tokens());
+          rendered = template.render(token -> renderToken(token, resolverId));
+        } else {
+          templateDependencies.update(prop.key(), List.of());
+        }
+      } catch (RuntimeException e) {
+        // e.g., a token references a required prop which has no value; the template keeps its last
+        // rendered value, allowing the other props updated in the same phase to proceed
+        log.log(SEVERE, e, () -> format("Could not render template %s", prop.key()));
+        prop.failUpdate(e);
+        return false;
+      }
+
+      boolean changed = !Objects.equals(prop.getValueInternal(), rendered);
+      if (changed) {
+        prop.setValue(rendered);
+      }
+
+      boundProps.setEntry(slot, entry);
+      return changed;
+    }
+  }
+
+  /**
+   * Re-renders the bound templates which reference any of the specified keys, in dependency order.
+   */
+  private void renderDependents(Collection<String> changedKeys) {
+    for (String key : templateDependencies.affectedBy(changedKeys)) {
+      int slot = boundProps.slot(key);
+      if (slot != BoundProps.NOT_BOUND) {
+        render(slot, resolveEntries(List.of(key), boundProps.resolverId(slot)).get(key));
+      }
+    }
+  }
+
+  /** Returns the value of the specified template token, as a string. */
+  private String renderToken(String token, @Nullable String resolverId) {
+    Prop<?> maybeProp = retrieveProp(token);
+    if (!isNull(maybeProp)) {
+      // if a Prop is already bound, use it to benefit from its toString() implementation
+      return Objects.toString(maybeProp.value());
+    }
+
+    // otherwise just resolve on the spot
+    return Objects.toString(resolveByKey(token, Cast.asString(), resolverId));
+  }
+
+  /**
+   * Searches all resolvers for the specified keys and converts the results to the designated type,
+   * in a single pass per {@link Resolver}.
+   *
+   * <p>If a <code>resolverId</code> is specified, only search the matching resolver.
+   *
+   * @return a {@link Map} containing the value of every key which was found and could be decoded
+   */
+  public <T> Map<String, T> resolveAll(
+      Collection<String> keys, Converter<T> converter, @Nullable String resolverId) {
+    Map<String, T> values = new HashMap<>();
+    for (Entry<String, Snapshot.Entry> entry : resolveEntries(keys, resolverId).entrySet()) {
+      String key = entry.getKey();
+      Snapshot.Entry resolved = entry.getValue();
+      T value = decode(key, resolved.value, resolved.resolverId, converter);
+      if (nonNull(value)) {
+        values.put(key, value);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Searches all resolvers for the winning raw values of the specified keys, in a single pass per
+   * {@link Resolver}.
+   *
+   * <p>If a <code>resolverId</code> is specified, only search the matching resolver.
+   *
+   * @return a mutable {@link Map} containing an entry for every key which was found
+   */
+  private Map<String, Snapshot.Entry> resolveEntries(
+      Collection<String> keys, @Nullable String resolverId) {
+    Map<String, Snapshot.Entry> results = new HashMap<>();
+    if (keys.isEmpty() || !waitForInitialLoad(resolverId, keys)) {
+      return results;
+    }
+
+    if (nonNull(resolverId)) {
+      // if the props are bound to a single resolver, only query it
+      Resolver resolver = resolvers.get(resolverId);
+      if (isNull(resolver)) {
+        return results;
+      }
+
+      int rank = prioritizedResolvers.indexOf(resolverId);
+      for (Entry<String, String> value : resolver.getAll(keys).entrySet()) {
+        results.put(value.getKey(), new Snapshot.Entry(value.getValue(), resolverId, rank));
+      }
+      return results;
+    }
+
+    // retrieve all winning values from the current snapshot
+    Snapshot snapshot = this.snapshot;
+    for (String key : keys) {
+      Snapshot.Entry entry = snapshot.get(key);
+      if (nonNull(entry)) {
+        results.put(key, entry);
+      }
+    }
+
+    // query each live resolver, in priority order, for the keys it may override
+    for (int i = 0; i < liveLayers.length; i++) {
+      int rank = liveRanks[i];
+      List<String> candidates = new ArrayList<>();
+      for (String key : keys) {
+        Snapshot.Entry entry = results.get(key);
+        if (isNull(entry) || entry.rank > rank) {
+          candidates.add(key);
+        }
+      }
+      if (candidates.isEmpty()) {
+        continue;
+      }
+
+      String id = liveLayers[i].id();
+      for (Entry<String, String> value : liveLayers[i].getAll(candidates).entrySet()) {
+        results.put(value.getKey(), new Snapshot.Entry(value.getValue(), id, rank));
+      }
+    }
+
+    return results;
   }
 
   /**
@@ -219,7 +715,7 @@ public class Props {
    */
   @Nullable
   <T> T resolveByKey(String key, Converter<T> converter, @Nullable String resolverId) {
-    if (!waitForInitialLoad()) {
+    if (!waitForInitialLoad(resolverId, List.of(key))) {
       return null;
     }
 
@@ -239,33 +735,36 @@ public class Props {
       return converter.decode(val);
     }
 
-    for (String id : prioritizedResolvers) {
-      // search each resolver, in priority order
-      Resolver resolver = resolvers.get(id);
-      if (isNull(resolver)) {
-        continue;
-      }
+    // retrieve the winning value from the current snapshot, with a single lookup
+    Snapshot.Entry entry = snapshot.get(key);
+    int winningRank = nonNull(entry) ? entry.rank : Integer.MAX_VALUE;
 
-      // find the appropriate value, if it exists
-      String value = resolver.get(key);
-      if (isNull(value)) {
-        continue;
+    // live resolvers are not part of the snapshot and must be queried on every read;
+    // only the ones with a higher priority than the winning value need to be searched
+    for (int i = 0; i < liveLayers.length && liveRanks[i] < winningRank; i++) {
+      String value = liveLayers[i].get(key);
+      if (nonNull(value)) {
+        return decode(key, value, liveLayers[i].id(), converter);
       }
+    }
 
-      // the current method is hot (can be called many times) and the following optimization
-      // avoids unnecessary object allocations due to calling String.format(...)
-      if (log.isLoggable(FINER)) {
-        log.log(FINER, () -> format("%s resolved by %s", key, id));
-      }
+    if (isNull(entry)) {
+      return null;
+    }
 
-      // return an optional which decodes the value on get
-      // the reason for lazy decoding is to reduce confusion in a potential stacktrace
-      // since the problem would be related to decoding the retrieved string and not with
-      // resolving the value
-      return converter.decode(value);
+    return decode(key, entry.value, entry.resolverId, converter);
+  }
+
+  /** Decodes the value resolved for the specified key. */
+  @Nullable
+  private static <T> T decode(String key, String value, String id, Converter<T> converter) {
+    // the current method is hot (can be called many times) and the following optimization
+    // avoids unnecessary object allocations due to calling String.format(...)
+    if (log.isLoggable(FINER)) {
+      log.log(FINER, () -> format("%s resolved by %s", key, id));
     }
 
-    return null;
+    return converter.decode(value);
   }
 
   /**
@@ -308,11 +807,20 @@ public class Props {
   /**
    * Waits for the initial operation to load all resolvers to complete.
    *
+   * <p>If the registry was warm-started, keys which are not pinned to a resolver are served from
+   * the restored snapshot in the meantime, without waiting, but only if it holds all of them; keys
+   * which were not saved (e.g., since they were added after the previous run) are only resolved
+   * once all resolvers are loaded.
+   *
    * @return true if the wait completed successfully
    */
-  private <T> boolean waitForInitialLoad() {
+  private boolean waitForInitialLoad(@Nullable String resolverId, Collection<String> keys) {
+    if (isWarmStarted && isNull(resolverId) && latch.getCount() > 0 && isRestored(keys)) {
+      return true;
+    }
+
     try {
-      latch.await(refreshInterval.toSeconds(), TimeUnit.SECONDS);
+      latch.await(refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
       return true;
 
     } catch (InterruptedException e) {
@@ -322,33 +830,124 @@ public class Props {
     }
   }
 
-  /** Refreshes values from all the registered {@link Resolver}s. */
-  private void refreshResolvers(Map<String, Resolver> resolvers) {
-    Set<? extends Prop<?>> toUpdate =
-        resolvers.entrySet().parallelStream()
-            .filter(r -> r.getValue().isReloadable())
-            .map(Props::safeReload)
-            .flatMap(keys -> keys.stream().map(boundProps::get).filter(Objects::nonNull))
-            // we need to collect since we need all layers to have finished their update cycle
-            // before reading them
-            .collect(Collectors.toSet());
+  /** Returns true if the current (i.e., the restored) snapshot holds all the specified keys. */
+  private boolean isRestored(Collection<String> keys) {
+    Snapshot snapshot = this.snapshot;
+    for (String key : keys) {
+      if (isNull(snapshot.get(key))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Applies all the changes queued by reloaded {@link Resolver}s in a single update phase:
+   * publishes an updated {@link Snapshot}, updates all the affected {@link Prop}s, and re-renders
+   * the {@link TemplateProp}s which reference them.
+   *
+   * <p>Only runs on the (single-threaded) scheduler, so that update phases never overlap.
+   */
+  private void applyChanges() {
+    // allow new changes to schedule another update phase, before draining the queued ones
+    isApplyScheduled.set(false);
+
+    Set<String> changedKeys = new HashSet<>();
+    synchronized (pendingChanges) {
+      for (int rank = 0; rank < pendingChanges.size(); rank++) {
+        Set<String> keys = pendingChanges.get(rank);
+        if (!keys.isEmpty()) {
+          changedKeys.addAll(keys);
+          updateFilter(rank, keys);
+          keys.clear();
+        }
+      }
+    }
+
+    if (changedKeys.isEmpty()) {
+      return;
+    }
+
+    snapshot = snapshot.update(changedKeys, mergedLayers, layerFilters);
+
+    updateAll(
+        changedKeys.stream()
+            .mapToInt(boundProps::slot)
+            .filter(slot -> slot != BoundProps.NOT_BOUND)
+            .toArray());
+    // re-render any templates which reference the changed keys, including any bound props
+    renderDependents(changedKeys);
+  }
+
+  /**
+   * Adds any keys which are now defined by the specified layer to its filter, or rebuilds the
+   * filter if it has accumulated too many keys.
+   */
+  private void updateFilter(int rank, Set<String> changedKeys) {
+    Resolver layer = mergedLayers[rank];
+    if (isNull(layer)) {
+      return;
+    }
+
+    KeyFilter filter = layerFilters[rank];
+    if (isNull(filter) || filter.isSaturated()) {
+      layerFilters[rank] = KeyFilter.of(keysOf(layer));
+      return;
+    }
 
-    toUpdate.forEach(this::update);
+    // deleted keys are not removed, since stale keys can only cause false positives
+    for (String key : changedKeys) {
+      if (nonNull(layer.get(key))) {
+        filter.add(key);
+      }
+    }
   }
 
-  /** Gracefully terminate this class's {@link ScheduledExecutorService}. */
-  private void shutdown() {
+  /**
+   * Stops reloading this registry's resolvers, detaches it from its {@link RefreshScheduler}, and
+   * gracefully terminates any executors owned by this registry.
+   *
+   * <p>Bound props retain their last values, but are no longer updated. Calling this method more
+   * than once has no effect.
+   */
+  @Override
+  public void close() {
+    if (!isClosed.compareAndSet(false, true)) {
+      return;
+    }
+
+    try {
+      Runtime.getRuntime().removeShutdownHook(shutdownHook);
+    } catch (IllegalStateException e) {
+      // the JVM is already shutting down (and may be running this method as a hook)
+    }
+
     log.info(() -> "Shutting down the Props executor...");
-    executor.shutdown();
+    for (int rank = 0; rank < layers.size(); rank++) {
+      scheduler.deregister(layers.get(rank), reloadListeners[rank]);
+    }
+    scheduler.release();
+
+    // save the latest values, allowing the next registry to be warm-started
+    saveSnapshot();
+
+    ownedExecutors.forEach(ExecutorService::shutdown);
     try {
-      executor.awaitTermination(shutdownGracePeriod.toSeconds(), TimeUnit.SECONDS);
+      for (ExecutorService owned : ownedExecutors) {
+        owned.awaitTermination(shutdownGracePeriod.toSeconds(), TimeUnit.SECONDS);
+      }
     } catch (InterruptedException e) {
       log.warning(() -> "Interrupted while waiting for executor shutdown; terminating...");
-      executor.shutdownNow();
+      ownedExecutors.forEach(ExecutorService::shutdownNow);
       Thread.currentThread().interrupt();
     }
   }
 
+  /** Returns metrics describing the time spent reloading this registry's {@link Resolver}s. */
+  public ReloadMetrics reloadMetrics() {
+    return reloadMetrics;
+  }
+
   /** Convenience method for building string {@link Prop}s. */
   public Builder<String> prop(String key) {
     return new Builder<>(key, Cast.asString());
@@ -363,20 +962,44 @@ public class Props {
   public static class Factory {
 
     private final LinkedHashMap<String, Resolver> resolvers = new LinkedHashMap<>();
+    private final Map<String, RefreshPolicy> policies = new HashMap<>();
     private Duration refreshInterval = Duration.ofSeconds(30);
     private Duration shutdownGracePeriod = Duration.ofSeconds(10);
+    @Nullable private ExecutorService refreshExecutor;
+    private int refreshParallelism;
+    @Nullable private Executor updateExecutor;
+    private boolean useVirtualThreads;
+    @Nullable private RefreshScheduler scheduler;
+    @Nullable private Path snapshotFile;
+    private Set<String> unsavedResolvers = Set.of();
 
     private Factory() {}
 
     /** Adds a resolver and identifies it by its {@link Resolver#id()}. */
     public Factory withResolver(Resolver resolver) {
       resolvers.put(resolver.id(), resolver);
+      policies.remove(resolver.id());
       return this;
     }
 
-    /** Adds a resolver and identifies it by its {@link Resolver#id()}. */
+    /**
+     * Adds a resolver, identifies it by its {@link Resolver#id()}, and reloads it according to the
+     * specified policy, instead of the default {@link #refreshInterval(Duration)}.
+     */
+    public Factory withResolver(Resolver resolver, RefreshPolicy policy) {
+      resolvers.put(resolver.id(), resolver);
+      policies.put(resolver.id(), policy);
+      return this;
+    }
+
+    /**
+     * Adds each resolver and identifies it by its {@link Resolver#id()}, as {@link
+     * #withResolver(Resolver)} does.
+     */
     public Factory withResolvers(Collection<Resolver> resolvers) {
-      resolvers.forEach(r -> this.resolvers.put(r.id(), r));
+      for (Resolver resolver : resolvers) {
+        withResolver(resolver);
+      }
       return this;
     }
 
@@ -389,6 +1012,104 @@ public class Props {
       return this;
     }
 
+    /**
+     * Allows specifying the executor on which {@link Resolver}s are reloaded.
+     *
+     * <p>The executor is not owned by the resulting {@link Props} registry, and will not be shut
+     * down by it. If not specified, each registry creates a dedicated pool of daemon threads.
+     */
+    public Factory refreshExecutor(ExecutorService executor) {
+      refreshExecutor = executor;
+      return this;
+    }
+
+    /**
+     * Allows customizing the maximum number of {@link Resolver}s which are reloaded in parallel, by
+     * the default refresh executor.
+     *
+     * <p>Defaults to the lower of the number of resolvers and available processors. This setting is
+     * ignored if a {@link #refreshExecutor(ExecutorService)} was specified.
+     *
+     * @throws IllegalArgumentException if the specified value is not positive
+     */
+    public Factory refreshParallelism(int parallelism) {
+      if (parallelism <= 0) {
+        throw new IllegalArgumentException("The refresh parallelism must be positive");
+      }
+      refreshParallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Allows specifying the executor on which the {@link Prop#onUpdate(java.util.function.Consumer,
+     * java.util.function.Consumer)} subscribers of props bound to the resulting registry are
+     * notified.
+     *
+     * <p>The executor is not owned by the registry, and will not be shut down by it. If not
+     * specified, subscribers are notified on the common {@link java.util.concurrent.ForkJoinPool}.
+     */
+    public Factory updateExecutor(Executor executor) {
+      updateExecutor = executor;
+      return this;
+    }
+
+    /**
+     * Reloads {@link Resolver}s and notifies subscribers on virtual threads, if supported by the
+     * JVM (JDK 21+), or otherwise falls back to the default executors.
+     *
+     * <p>Executors explicitly specified via {@link #refreshExecutor(ExecutorService)} or {@link
+     * #updateExecutor(Executor)} take precedence.
+     */
+    public Factory useVirtualThreads() {
+      useVirtualThreads = true;
+      return this;
+    }
+
+    /**
+     * Allows attaching the registry to a {@link RefreshScheduler}, which can be shared with other
+     * registries (e.g., {@link RefreshScheduler#shared()}).
+     *
+     * <p>If not specified, each registry creates a dedicated scheduler.
+     */
+    public Factory scheduler(RefreshScheduler scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    /**
+     * Warm-starts the registry from the values saved to the specified file by a previous registry,
+     * if the file exists and is valid.
+     *
+     * <p>Until all resolvers are loaded, props which are not pinned to a resolver are resolved from
+     * the saved values, instead of waiting for the initial load; live resolvers (which cannot
+     * enumerate their keys) are still queried, but may not have been loaded yet. Once loaded, only
+     * the props whose values changed are updated.
+     *
+     * <p>The file is (atomically) replaced after the initial load, and when the registry is closed.
+     * If it cannot be read, or was corrupted, the registry falls back to a cold start.
+     *
+     * <p>Values are saved in plain text, including values read from environment variables or
+     * mounted Secrets, but excluding the values of props which are bound as secrets (see {@link
+     * Prop#isSecret()}) when the file is saved. Use {@link #warmStart(Path, Set)} to also exclude
+     * all values provided by specific resolvers.
+     */
+    public Factory warmStart(Path snapshotFile) {
+      return warmStart(snapshotFile, Set.of());
+    }
+
+    /**
+     * Warm-starts the registry, as {@link #warmStart(Path)} does, but never saves the values
+     * provided by the specified resolvers; props which resolve to these values are only resolved
+     * once all resolvers are loaded.
+     *
+     * @param unsavedResolvers the ids of the resolvers whose values are not saved
+     */
+    public Factory warmStart(Path snapshotFile, Set<String> unsavedResolvers) {
+      this.snapshotFile = snapshotFile;
+      this.unsavedResolvers = Set.copyOf(unsavedResolvers);
+      return this;
+    }
+
     /**
      * Allows customizing the shutdown grace period, before the executor is forcefully shut down.
      */
@@ -408,9 +1129,7 @@ public class Props {
         throw new IllegalStateException("Cannot initialize Props without any Resolvers");
       }
 
-      Props props = new Props(resolvers, refreshInterval, shutdownGracePeriod);
-
-      return props;
+      return new Props(this);
     }
   }
 
@@ -424,6 +1143,8 @@ public class Props {
    * String prop), identify all the tokens in the template, and subsequently populate every token
    * with its current value (as observed by the specified <code>resolverId</code>).
    *
+   * <p>Templates are parsed once and cached, until their value changes.
+   *
    * <p>All the tokens' values will be populated as strings ({@link Cast#asString()}).
    */
   @Nullable
@@ -433,24 +1154,13 @@ public class Props {
       return null;
     }
 
-    String processed = template;
-    Set<String> tokens = TemplateStringUtils.parseTokens(template);
-    for (String token : tokens) {
-      String value;
-
-      Prop<?> maybeProp = retrieveProp(token);
-      if (!isNull(maybeProp)) {
-        // if a Prop is already bound, use it to benefit from its toString() implementation
-        value = Objects.toString(maybeProp.value());
-      } else {
-        // otherwise just resolve on the spot
-        value = Objects.toString(resolveByKey(token, Cast.asString(), resolverId));
-      }
-
-      processed = processed.replace("{" + token + "}", value);
+    Template compiled = templates.get(key);
+    if (isNull(compiled) || !compiled.isCompiledFrom(template)) {
+      compiled = Template.compile(template);
+      templates.put(key, compiled);
     }
 
-    return processed;
+    return compiled.render(token -> renderToken(token, resolverId));
   }
 
   /** Builder class for creating custom {@link Prop}s from the current {@link Props} registry. */
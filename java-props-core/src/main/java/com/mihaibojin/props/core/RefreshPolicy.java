@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Determines how often a {@link com.mihaibojin.props.core.resolvers.Resolver} is reloaded.
+ *
+ * <p>Each reload is scheduled <code>interval</code> after the previous one completed, randomly
+ * shifted by up to <code>jitter</code> in either direction. If a backoff is configured, the delay
+ * doubles after each consecutive failed reload, up to <code>maxBackoff</code>.
+ */
+public final class RefreshPolicy {
+
+  private final Duration interval;
+  private final Duration jitter;
+  @Nullable private final Duration maxBackoff;
+
+  private RefreshPolicy(Duration interval, Duration jitter, @Nullable Duration maxBackoff) {
+    this.interval = interval;
+    this.jitter = jitter;
+    this.maxBackoff = maxBackoff;
+  }
+
+  /**
+   * Creates a policy which reloads at the specified interval, without jitter or backoff.
+   *
+   * @throws IllegalArgumentException if the interval is not positive
+   */
+  public static RefreshPolicy every(Duration interval) {
+    if (interval.isNegative() || interval.isZero()) {
+      throw new IllegalArgumentException("The refresh interval must be positive");
+    }
+    return new RefreshPolicy(interval, Duration.ZERO, null);
+  }
+
+  /**
+   * Returns a copy of this policy, which randomly shifts each reload by up to the specified amount.
+   *
+   * @throws IllegalArgumentException if the jitter is negative
+   */
+  public RefreshPolicy withJitter(Duration jitter) {
+    if (jitter.isNegative()) {
+      throw new IllegalArgumentException("The jitter cannot be negative");
+    }
+    return new RefreshPolicy(interval, jitter, maxBackoff);
+  }
+
+  /**
+   * Returns a copy of this policy, which exponentially backs off after failed reloads, up to the
+   * specified delay.
+   *
+   * @throws IllegalArgumentException if the maximum backoff is lower than the interval
+   */
+  public RefreshPolicy withBackoff(Duration maxBackoff) {
+    if (maxBackoff.compareTo(interval) < 0) {
+      throw new IllegalArgumentException("The maximum backoff cannot be lower than the interval");
+    }
+    return new RefreshPolicy(interval, jitter, maxBackoff);
+  }
+
+  public Duration interval() {
+    return interval;
+  }
+
+  public Duration jitter() {
+    return jitter;
+  }
+
+  @Nullable
+  public Duration maxBackoff() {
+    return maxBackoff;
+  }
+
+  /** Computes the delay before the next reload, given the number of consecutive failures. */
+  Duration nextDelay(int consecutiveFailures) {
+    long nanos = interval.toNanos();
+
+    if (consecutiveFailures > 0 && !isNull(maxBackoff)) {
+      long max = maxBackoff.toNanos();
+      int shift = Math.min(consecutiveFailures, Long.SIZE - 2);
+      nanos = nanos > (max >> shift) ? max : nanos << shift;
+    }
+
+    long jitterNanos = jitter.toNanos();
+    if (jitterNanos > 0) {
+      nanos += ThreadLocalRandom.current().nextLong(-jitterNanos, jitterNanos + 1);
+    }
+
+    return Duration.ofNanos(Math.max(nanos, 0));
+  }
+
+  @Override
+  public String toString() {
+    return format(
+        "RefreshPolicy{interval=%s, jitter=%s, maxBackoff=%s}", interval, jitter, maxBackoff);
+  }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.SEVERE;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import com.mihaibojin.props.core.resolvers.Resolver;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Schedules {@link Resolver} reloads for one or more {@link Props} registries, on a single daemon
+ * thread.
+ *
+ * <p>The thread is started when the first registry attaches, and stopped when the last one is
+ * closed. Each {@link Resolver} instance is reloaded once per tick, regardless of how many of the
+ * attached registries use it, and all of them are notified of the changed keys. If registries
+ * specify different {@link RefreshPolicy}s for a shared resolver, it is reloaded after the shortest
+ * of their delays, on the reload executor of the earliest attached registry which accepts the task.
+ */
+public final class RefreshScheduler {
+
+  private static final Logger log = Logger.getLogger(RefreshScheduler.class.getName());
+  private static final RefreshScheduler SHARED = new RefreshScheduler();
+
+  // guarded by this
+  private final Map<Resolver, ScheduledResolver> resolvers = new IdentityHashMap<>();
+  @Nullable private ScheduledThreadPoolExecutor executor;
+  private int references;
+
+  /** Creates a new scheduler, which can be attached to registries via {@link Props.Factory}. */
+  public RefreshScheduler() {}
+
+  /** Returns a scheduler which is shared by the whole JVM. */
+  public static RefreshScheduler shared() {
+    return SHARED;
+  }
+
+  /** Attaches a registry, starting the scheduler thread if necessary. */
+  synchronized ScheduledExecutorService acquire() {
+    ScheduledThreadPoolExecutor current = executor;
+    if (isNull(current)) {
+      current = new ScheduledThreadPoolExecutor(1, Props::newDaemonThread);
+      current.setRemoveOnCancelPolicy(true);
+      executor = current;
+    }
+    references++;
+    return current;
+  }
+
+  /** Detaches a registry, stopping the scheduler thread if it was the last one. */
+  synchronized void release() {
+    ScheduledThreadPoolExecutor current = executor;
+    if (--references == 0 && !isNull(current)) {
+      current.shutdown();
+      executor = null;
+    }
+  }
+
+  /**
+   * Registers a listener for the reloads of the specified resolver and, if the resolver is
+   * reloadable and not already scheduled, schedules its periodic reloads.
+   *
+   * @param policy determines when the resolver is reloaded
+   * @param reloadExecutor the executor on which the resolver will be reloaded
+   */
+  synchronized void register(
+      Resolver resolver, RefreshPolicy policy, Executor reloadExecutor, ReloadListener listener) {
+    ScheduledResolver scheduled =
+        resolvers.computeIfAbsent(resolver, ignored -> new ScheduledResolver(resolver));
+    scheduled.registrations.add(new Registration(policy, reloadExecutor, listener));
+    if (!resolver.isReloadable()) {
+      return;
+    }
+
+    ScheduledFuture<?> next = scheduled.next;
+    if (isNull(next)) {
+      scheduleNext(scheduled);
+      resolver.startWatching(() -> requestReload(scheduled));
+    } else if (policy.nextDelay(scheduled.failures).toNanos() < next.getDelay(TimeUnit.NANOSECONDS)
+        && next.cancel(false)) {
+      // the new registration requires an earlier reload than the one already scheduled
+      scheduleNext(scheduled);
+    }
+  }
+
+  /**
+   * Deregisters the specified listener, and stops reloading the resolver if no other listeners are
+   * registered for it.
+   */
+  synchronized void deregister(Resolver resolver, ReloadListener listener) {
+    ScheduledResolver scheduled = resolvers.get(resolver);
+    if (isNull(scheduled)) {
+      return;
+    }
+
+    scheduled.registrations.removeIf(r -> r.listener == listener);
+    if (scheduled.registrations.isEmpty()) {
+      resolvers.remove(resolver);
+      ScheduledFuture<?> next = scheduled.next;
+      if (!isNull(next)) {
+        next.cancel(false);
+      }
+      if (resolver.isReloadable()) {
+        resolver.stopWatching();
+      }
+    }
+  }
+
+  /**
+   * Reloads the specified resolver on the specified executor, notifying all of its listeners.
+   *
+   * @return a future which completes after the listeners were notified
+   */
+  CompletableFuture<Void> reload(Resolver resolver, Executor reloadExecutor) {
+    ScheduledResolver scheduled;
+    synchronized (this) {
+      scheduled = resolvers.get(resolver);
+    }
+    if (isNull(scheduled)) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    try {
+      return CompletableFuture.runAsync(scheduled::reload, reloadExecutor);
+    } catch (RejectedExecutionException e) {
+      log.log(SEVERE, e, () -> format("Could not schedule a reload of %s", resolver.id()));
+      return CompletableFuture.completedFuture(null);
+    }
+  }
+
+  /**
+   * Reloads the specified resolver as soon as possible, without waiting for its next scheduled
+   * reload; if a reload is already in progress, the next one is scheduled immediately after it
+   * completes.
+   */
+  private synchronized void requestReload(ScheduledResolver scheduled) {
+    ScheduledThreadPoolExecutor current = executor;
+    ScheduledFuture<?> next = scheduled.next;
+    if (isNull(current) || isNull(next) || scheduled.registrations.isEmpty()) {
+      return;
+    }
+
+    scheduled.isReloadRequested = true;
+    if (next.cancel(false)) {
+      try {
+        scheduled.next = current.schedule(() -> submitReload(scheduled), 0, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // the scheduler is shutting down
+      }
+    }
+  }
+
+  /**
+   * Schedules the next reload of the specified resolver, according to its policy, or immediately if
+   * one was requested in the meantime.
+   */
+  private synchronized void scheduleNext(ScheduledResolver scheduled) {
+    ScheduledThreadPoolExecutor current = executor;
+    if (isNull(current) || scheduled.registrations.isEmpty()) {
+      // the scheduler was stopped, or the resolver is no longer used
+      return;
+    }
+
+    // a shared resolver is reloaded as often as any of its registrations requires
+    long delay = Long.MAX_VALUE;
+    if (scheduled.isReloadRequested) {
+      delay = 0;
+    } else {
+      for (Registration registration : scheduled.registrations) {
+        delay = Math.min(delay, registration.policy.nextDelay(scheduled.failures).toNanos());
+      }
+    }
+    try {
+      scheduled.next = current.schedule(() -> submitReload(scheduled), delay, TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      // the scheduler is shutting down
+    }
+  }
+
+  /**
+   * Reloads the specified resolver, and then schedules its next reload.
+   *
+   * <p>If a registration's executor rejects the reload (e.g., since its registry is being closed),
+   * the next registration's executor is used; if all of them reject it, the reload is skipped, but
+   * the next one is still scheduled.
+   */
+  private void submitReload(ScheduledResolver scheduled) {
+    List<Executor> reloadExecutors = new ArrayList<>();
+    synchronized (this) {
+      if (scheduled.registrations.isEmpty()) {
+        return;
+      }
+      for (Registration registration : scheduled.registrations) {
+        reloadExecutors.add(registration.reloadExecutor);
+      }
+      // any changes signalled up to this point will be observed by this reload
+      scheduled.isReloadRequested = false;
+    }
+
+    for (Executor reloadExecutor : reloadExecutors) {
+      try {
+        reloadExecutor.execute(
+            () -> {
+              scheduled.reload();
+              scheduleNext(scheduled);
+            });
+        return;
+      } catch (RejectedExecutionException e) {
+        log.log(FINE, e, () -> format("Reload of %s rejected", scheduled.resolver.id()));
+      }
+    }
+
+    log.severe(() -> format("Could not schedule a reload of %s", scheduled.resolver.id()));
+    scheduleNext(scheduled);
+  }
+
+  /** Notified after a resolver was reloaded. */
+  interface ReloadListener {
+
+    /**
+     * Called after each reload.
+     *
+     * @param changed the keys changed by the reload, or <code>null</code> if it failed
+     * @param nanos the time the reload took
+     */
+    void onReload(@Nullable Set<String> changed, long nanos);
+  }
+
+  /** A registry's request to be notified of a resolver's reloads. */
+  private static final class Registration {
+    private final RefreshPolicy policy;
+    private final Executor reloadExecutor;
+    private final ReloadListener listener;
+
+    private Registration(RefreshPolicy policy, Executor reloadExecutor, ReloadListener listener) {
+      this.policy = policy;
+      this.reloadExecutor = reloadExecutor;
+      this.listener = listener;
+    }
+  }
+
+  /** The scheduling state of a single resolver. */
+  private final class ScheduledResolver {
+    private final Resolver resolver;
+    // guarded by RefreshScheduler.this
+    private final List<Registration> registrations = new ArrayList<>();
+    @Nullable private ScheduledFuture<?> next;
+    private boolean isReloadRequested;
+    // only updated by (serialized) reloads, and read when scheduling the next one
+    private int failures;
+
+    private ScheduledResolver(Resolver resolver) {
+      this.resolver = resolver;
+    }
+
+    /**
+     * Reloads the resolver, and notifies all listeners.
+     *
+     * <p>Reloads are serialized, since each reload reports the keys changed since the previous one.
+     */
+    private synchronized void reload() {
+      long start = System.nanoTime();
+      Set<String> changed = null;
+      try {
+        changed = resolver.reload();
+        failures = 0;
+      } catch (Throwable t) {
+        failures++;
+        log.log(SEVERE, t, () -> format("Unexpected error reloading props from %s", resolver.id()));
+      }
+      long nanos = System.nanoTime() - start;
+
+      List<Registration> current;
+      synchronized (RefreshScheduler.this) {
+        current = new ArrayList<>(registrations);
+      }
+      for (Registration registration : current) {
+        registration.listener.onReload(changed, nanos);
+      }
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static java.lang.String.format;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks the time a {@link Props} registry spends reloading its {@link
+ * com.mihaibojin.props.core.resolvers.Resolver}s.
+ *
+ * <p>All values are cumulative, since the registry was created.
+ */
+public final class ReloadMetrics {
+
+  private final LongAdder reloads = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder reloadNanos = new LongAdder();
+  private final LongAdder cycles = new LongAdder();
+  private final LongAdder blockedNanos = new LongAdder();
+  private final AtomicLong maxBlockedNanos = new AtomicLong();
+
+  ReloadMetrics() {}
+
+  /** Records a single resolver reload. */
+  void recordReload(long nanos, boolean failed) {
+    reloads.increment();
+    reloadNanos.add(nanos);
+    if (failed) {
+      failures.increment();
+    }
+  }
+
+  /** Records the time spent waiting for all the resolvers to be loaded. */
+  void recordBlocked(long nanos) {
+    cycles.increment();
+    blockedNanos.add(nanos);
+    maxBlockedNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  /** Returns the number of times a resolver was reloaded. */
+  public long reloads() {
+    return reloads.sum();
+  }
+
+  /** Returns the number of reloads which failed with an exception. */
+  public long failures() {
+    return failures.sum();
+  }
+
+  /** Returns the total time spent in all resolver reloads, across all reload threads. */
+  public Duration reloadTime() {
+    return Duration.ofNanos(reloadNanos.sum());
+  }
+
+  /**
+   * Returns the number of times the registry waited for all of its resolvers to be loaded (i.e.,
+   * the initial load); periodic reloads are scheduled independently, and never block.
+   */
+  public long cycles() {
+    return cycles.sum();
+  }
+
+  /** Returns the total time spent waiting for all resolvers to be loaded. */
+  public Duration blockedTime() {
+    return Duration.ofNanos(blockedNanos.sum());
+  }
+
+  /** Returns the longest time spent waiting for all resolvers to be loaded, at once. */
+  public Duration maxBlockedTime() {
+    return Duration.ofNanos(maxBlockedNanos.get());
+  }
+
+  @Override
+  public String toString() {
+    return format(
+        "ReloadMetrics{reloads=%d, failures=%d, reloadTime=%s, cycles=%d, blockedTime=%s,"
+            + " maxBlockedTime=%s}",
+        reloads(), failures(), reloadTime(), cycles(), blockedTime(), maxBlockedTime());
+  }
+}
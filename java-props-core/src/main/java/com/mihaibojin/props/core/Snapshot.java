@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import com.mihaibojin.props.core.internal.KeyFilter;
+import com.mihaibojin.props.core.resolvers.Resolver;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable view of the values held by a {@link Props} registry's {@link Resolver}s, merged by
+ * priority, as observed at the end of a refresh cycle.
+ *
+ * <p>Each key maps to its winning raw value and to the resolver which provided it, allowing {@link
+ * Props} to resolve any key with a single lookup.
+ */
+final class Snapshot {
+
+  static final Snapshot EMPTY = new Snapshot(0, Map.of());
+
+  final long version;
+  private final Map<String, Entry> values;
+
+  private Snapshot(long version, Map<String, Entry> values) {
+    this.version = version;
+    this.values = values;
+  }
+
+  /**
+   * Restores a snapshot from previously resolved values (e.g., read from a {@link SnapshotFile}).
+   */
+  static Snapshot restore(long version, Map<String, Entry> values) {
+    return new Snapshot(version, values);
+  }
+
+  /**
+   * Builds a snapshot from scratch, by merging all the values of the specified layers.
+   *
+   * @param layers resolvers indexed by priority (highest first); <code>null</code> elements are
+   *     skipped
+   * @param previous the snapshot which the new one replaces, and whose version it increments
+   */
+  static Snapshot build(Resolver[] layers, Snapshot previous) {
+    Map<String, Entry> values = new HashMap<>();
+
+    // iterate from the lowest to the highest priority, allowing higher priority values to overwrite
+    for (int rank = layers.length - 1; rank >= 0; rank--) {
+      Resolver layer = layers[rank];
+      if (isNull(layer)) {
+        continue;
+      }
+
+      Set<String> keys = layer.keys();
+      if (isNull(keys)) {
+        continue;
+      }
+
+      String id = layer.id();
+      for (Map.Entry<String, String> value : layer.getAll(keys).entrySet()) {
+        values.put(value.getKey(), new Entry(value.getValue(), id, rank));
+      }
+    }
+
+    return new Snapshot(previous.version + 1, values);
+  }
+
+  /**
+   * Returns a new snapshot, which re-resolves the specified keys against all layers, or the current
+   * snapshot if no keys were specified.
+   *
+   * @param filters if a layer's filter is specified, it will only be queried for keys which might
+   *     be contained by its filter
+   */
+  Snapshot update(Collection<String> keys, Resolver[] layers, KeyFilter[] filters) {
+    if (keys.isEmpty()) {
+      return this;
+    }
+
+    Map<String, Entry> updated = new HashMap<>(values);
+    List<String> pending = new ArrayList<>(keys);
+    for (String key : pending) {
+      updated.remove(key);
+    }
+
+    // resolve all keys in a single pass per layer, in priority order
+    for (int rank = 0; rank < layers.length && !pending.isEmpty(); rank++) {
+      Resolver layer = layers[rank];
+      if (isNull(layer)) {
+        continue;
+      }
+
+      // skip keys which the layer definitely does not contain
+      KeyFilter filter = filters[rank];
+      List<String> candidates = pending;
+      if (nonNull(filter)) {
+        candidates = new ArrayList<>();
+        for (String key : pending) {
+          if (filter.mightContain(key)) {
+            candidates.add(key);
+          }
+        }
+      }
+      if (candidates.isEmpty()) {
+        continue;
+      }
+
+      Map<String, String> found = layer.getAll(candidates);
+      if (found.isEmpty()) {
+        continue;
+      }
+
+      String id = layer.id();
+      for (Map.Entry<String, String> value : found.entrySet()) {
+        updated.put(value.getKey(), new Entry(value.getValue(), id, rank));
+      }
+      pending.removeIf(found::containsKey);
+    }
+
+    return new Snapshot(version + 1, updated);
+  }
+
+  /** Returns the winning value for the specified key, or <code>null</code> if none was found. */
+  @Nullable
+  Entry get(String key) {
+    return values.get(key);
+  }
+
+  /** Returns the number of keys in this snapshot. */
+  int size() {
+    return values.size();
+  }
+
+  /** Returns all the keys in this snapshot, and their winning values. */
+  Set<Map.Entry<String, Entry>> entries() {
+    return Collections.unmodifiableMap(values).entrySet();
+  }
+
+  /**
+   * Returns the keys whose winning raw value or source differs from the specified snapshot,
+   * including any keys which are only defined by one of them.
+   */
+  Set<String> changedSince(Snapshot previous) {
+    Set<String> changed = new HashSet<>();
+    for (Map.Entry<String, Entry> entry : values.entrySet()) {
+      if (!entry.getValue().isSameValue(previous.values.get(entry.getKey()))) {
+        changed.add(entry.getKey());
+      }
+    }
+    for (String key : previous.values.keySet()) {
+      if (!values.containsKey(key)) {
+        changed.add(key);
+      }
+    }
+    return changed;
+  }
+
+  /** Holds a key's winning raw value, as well as the id and priority of its resolver. */
+  static final class Entry {
+
+    final String value;
+    final String resolverId;
+    final int rank;
+
+    Entry(String value, String resolverId, int rank) {
+      this.value = value;
+      this.resolverId = resolverId;
+      this.rank = rank;
+    }
+
+    /** Returns true if the specified entry holds the same raw value, from the same resolver. */
+    boolean isSameValue(@Nullable Entry other) {
+      return nonNull(other) && value.equals(other.value) && resolverId.equals(other.resolverId);
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry entry = (Entry) o;
+      return rank == entry.rank && value.equals(entry.value) && resolverId.equals(entry.resolverId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(value, resolverId, rank);
+    }
+  }
+}
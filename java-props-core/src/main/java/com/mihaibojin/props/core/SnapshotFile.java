@@ -0,0 +1,253 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Persists a {@link Snapshot} to a compact binary file, which is memory-mapped and restored when a
+ * {@link Props} registry is next started.
+ *
+ * <p>The file starts with a fixed-size header (magic number, format version, snapshot version,
+ * number of layers and entries, body length, and a CRC32C checksum of everything else), followed by
+ * a table of resolver ids and the entries; each entry references its resolver by index, and strings
+ * are stored as length-prefixed UTF-8. All numbers are big-endian.
+ *
+ * <p>Files are replaced atomically. Any file which is truncated, corrupted, or written in another
+ * format is ignored, in which case the registry falls back to a cold start.
+ */
+final class SnapshotFile {
+
+  private static final Logger log = Logger.getLogger(SnapshotFile.class.getName());
+  private static final int MAGIC = 0x50525053; // "PRPS"
+  private static final int FORMAT_VERSION = 1;
+  // magic, format, snapshot version (8 bytes), layers, entries, body length, checksum
+  private static final int HEADER_BYTES = 32;
+  private static final int CHECKSUM_OFFSET = HEADER_BYTES - Integer.BYTES;
+
+  private SnapshotFile() {}
+
+  /**
+   * Reads a snapshot from the specified file, and assigns each entry the rank of its resolver in
+   * the specified list.
+   *
+   * <p>Entries provided by resolvers which are no longer registered are discarded.
+   *
+   * @param prioritizedResolvers resolver ids, ordered by priority (highest first)
+   * @return the restored snapshot, or <code>null</code> if the file does not exist or is not valid
+   */
+  @Nullable
+  static Snapshot read(Path file, List<String> prioritizedResolvers) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Unexpected file size: " + size);
+      }
+
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      return decode(buffer, prioritizedResolvers);
+
+    } catch (NoSuchFileException e) {
+      log.fine(() -> format("No snapshot found at %s; performing a cold start", file));
+    } catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+      log.log(
+          WARNING, e, () -> format("Ignoring invalid snapshot %s; performing a cold start", file));
+    }
+
+    return null;
+  }
+
+  /** Validates and decodes the specified buffer. */
+  private static Snapshot decode(ByteBuffer buffer, List<String> prioritizedResolvers) {
+    if (buffer.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Not a snapshot file");
+    }
+
+    int formatVersion = buffer.getInt();
+    if (formatVersion != FORMAT_VERSION) {
+      throw new IllegalArgumentException("Unsupported format version: " + formatVersion);
+    }
+
+    final long version = buffer.getLong();
+    final int layerCount = buffer.getInt();
+    final int entryCount = buffer.getInt();
+    int bodyLength = buffer.getInt();
+    int checksum = buffer.getInt();
+    if (bodyLength != buffer.limit() - HEADER_BYTES || layerCount < 0 || entryCount < 0) {
+      throw new IllegalArgumentException("Inconsistent header");
+    }
+    if (checksum != checksum(buffer)) {
+      throw new IllegalArgumentException("Checksum mismatch");
+    }
+
+    // map each stored layer to the current rank of its resolver, or -1 if it was removed
+    int[] ranks = new int[layerCount];
+    String[] ids = new String[layerCount];
+    for (int i = 0; i < layerCount; i++) {
+      ids[i] = readString(buffer);
+      ranks[i] = prioritizedResolvers.indexOf(ids[i]);
+    }
+
+    Map<String, Snapshot.Entry> values = new HashMap<>(entryCount * 4 / 3 + 1);
+    for (int i = 0; i < entryCount; i++) {
+      int layer = buffer.getInt();
+      if (layer < 0 || layer >= layerCount) {
+        throw new IllegalArgumentException("Invalid layer index: " + layer);
+      }
+      String key = readString(buffer);
+      String value = readString(buffer);
+      if (ranks[layer] >= 0) {
+        values.put(key, new Snapshot.Entry(value, ids[layer], ranks[layer]));
+      }
+    }
+
+    if (buffer.hasRemaining()) {
+      throw new IllegalArgumentException("Unexpected trailing bytes");
+    }
+    return Snapshot.restore(version, values);
+  }
+
+  /**
+   * Atomically replaces the specified file with the entries of the specified snapshot which match
+   * the <code>isSaved</code> predicate; values are not encrypted.
+   *
+   * @throws IOException if the file could not be written
+   */
+  static void write(Path file, Snapshot snapshot, BiPredicate<String, Snapshot.Entry> isSaved)
+      throws IOException {
+    List<Map.Entry<String, Snapshot.Entry>> entries = new ArrayList<>();
+    for (Map.Entry<String, Snapshot.Entry> entry : snapshot.entries()) {
+      if (isSaved.test(entry.getKey(), entry.getValue())) {
+        entries.add(entry);
+      }
+    }
+    ByteBuffer contents = encode(snapshot.version, entries);
+
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        while (contents.hasRemaining()) {
+          channel.write(contents);
+        }
+        channel.force(false);
+      }
+
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+
+    if (log.isLoggable(FINE)) {
+      log.fine(() -> format("Saved %d props to %s", entries.size(), file));
+    }
+  }
+
+  /** Encodes the specified entries of a snapshot, including the header. */
+  private static ByteBuffer encode(long version, List<Map.Entry<String, Snapshot.Entry>> entries)
+      throws IOException {
+    // assign an index to each resolver, in order of appearance
+    Map<String, Integer> layers = new LinkedHashMap<>();
+    for (Map.Entry<String, Snapshot.Entry> entry : entries) {
+      layers.putIfAbsent(entry.getValue().resolverId, layers.size());
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    // reserve space for the header, which is populated once the body's length is known
+    out.write(new byte[HEADER_BYTES]);
+    for (String id : layers.keySet()) {
+      writeString(out, id);
+    }
+    for (Map.Entry<String, Snapshot.Entry> entry : entries) {
+      out.writeInt(layers.get(entry.getValue().resolverId));
+      writeString(out, entry.getKey());
+      writeString(out, entry.getValue().value);
+    }
+    out.flush();
+
+    ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+    buffer
+        .putInt(MAGIC)
+        .putInt(FORMAT_VERSION)
+        .putLong(version)
+        .putInt(layers.size())
+        .putInt(entries.size())
+        .putInt(buffer.capacity() - HEADER_BYTES);
+    buffer.putInt(CHECKSUM_OFFSET, checksum(buffer));
+    buffer.rewind();
+    return buffer;
+  }
+
+  /** Computes the checksum of the specified buffer's contents, excluding the checksum itself. */
+  private static int checksum(ByteBuffer buffer) {
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.duplicate().position(0).limit(CHECKSUM_OFFSET));
+    crc.update(buffer.duplicate().position(HEADER_BYTES));
+    return (int) crc.getValue();
+  }
+
+  /** Reads a length-prefixed UTF-8 string. */
+  private static String readString(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid string length: " + length);
+    }
+
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /** Writes a length-prefixed UTF-8 string. */
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks which {@link TemplateProp}s reference which keys, allowing a {@link Props} registry to
+ * only re-render the templates affected by a set of changed keys.
+ *
+ * <p>Since a template's rendered value can itself be referenced by other templates, the graph is
+ * traversed transitively.
+ */
+final class TemplateDependencies {
+
+  // guarded by this
+  private final Map<String, Set<String>> dependents = new HashMap<>();
+  private final Map<String, Collection<String>> tokens = new HashMap<>();
+
+  /** Records the tokens currently referenced by the specified template, replacing any previous. */
+  synchronized void update(String templateKey, Collection<String> templateTokens) {
+    Collection<String> previous = tokens.put(templateKey, templateTokens);
+    if (previous != null) {
+      for (String token : previous) {
+        // tokens which are listed more than once were already removed
+        Set<String> templates = dependents.get(token);
+        if (templates != null && templates.remove(templateKey) && templates.isEmpty()) {
+          dependents.remove(token);
+        }
+      }
+    }
+
+    for (String token : templateTokens) {
+      dependents.computeIfAbsent(token, ignored -> new HashSet<>()).add(templateKey);
+    }
+  }
+
+  /**
+   * Returns the keys of all templates which directly or transitively reference any of the specified
+   * keys, ordered such that each template follows the templates it references (if the references
+   * form a cycle, its templates are returned in an arbitrary order).
+   */
+  synchronized List<String> affectedBy(Collection<String> changedKeys) {
+    if (dependents.isEmpty()) {
+      return List.of();
+    }
+
+    // reversed DFS post-order, i.e., a topological order
+    List<String> order = new ArrayList<>();
+    Set<String> visited = new HashSet<>();
+    for (String key : changedKeys) {
+      visit(key, visited, order);
+    }
+    Collections.reverse(order);
+    return order;
+  }
+
+  private void visit(String key, Set<String> visited, List<String> order) {
+    for (String template : dependents.getOrDefault(key, Set.of())) {
+      if (visited.add(template)) {
+        visit(template, visited, order);
+        order.add(template);
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static java.util.Objects.isNull;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import com.mihaibojin.props.core.internal.Template;
+
+/**
+ * A {@link Prop} whose value is a template (e.g., <code>jdbc:mysql://{db.host}:{db.port}/app
+ * </code>), rendered with the current values of the props referenced by its tokens.
+ *
+ * <p>Once bound, the template is parsed once, and only re-rendered when its own value, or the value
+ * of one of its tokens changes; reading the prop returns the last rendered value, without any
+ * additional work. Subscribers registered via {@link #onUpdate(java.util.function.Consumer,
+ * java.util.function.Consumer)} are notified each time the rendered value changes.
+ *
+ * <p>Tokens are rendered similarly to {@link Props#renderTemplate(String, String)}.
+ */
+public class TemplateProp extends AbstractProp<String> {
+
+  // guarded by this
+  @Nullable private Template template;
+
+  /** Constructs a template prop, without a default value. */
+  public TemplateProp(String key) {
+    this(key, null, null, false, false);
+  }
+
+  /** Constructs a template prop; the default value is used if the template is not defined. */
+  public TemplateProp(
+      String key,
+      @Nullable String defaultValue,
+      @Nullable String description,
+      boolean isRequired,
+      boolean isSecret) {
+    super(key, defaultValue, description, isRequired, isSecret);
+  }
+
+  /** Returns the raw template. */
+  @Override
+  public String decode(String value) {
+    return value;
+  }
+
+  /** Returns the compiled form of the specified template, reusing it if it has not changed. */
+  Template compile(String raw) {
+    Template current = template;
+    if (isNull(current) || !current.isCompiledFrom(raw)) {
+      current = Template.compile(raw);
+      template = current;
+    }
+    return current;
+  }
+}
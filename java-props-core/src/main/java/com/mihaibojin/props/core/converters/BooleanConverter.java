@@ -21,6 +21,11 @@ public interface BooleanConverter extends Converter<Boolean> {
 
   @Override
   default Boolean decode(String value) {
+    return decodeAsBoolean(value);
+  }
+
+  /** Decodes the inputted {@link String} to an unboxed <code>boolean</code>. */
+  default boolean decodeAsBoolean(String value) {
     return Boolean.parseBoolean(value);
   }
 }
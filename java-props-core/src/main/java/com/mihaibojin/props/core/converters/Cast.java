@@ -16,6 +16,9 @@
 
 package com.mihaibojin.props.core.converters;
 
+import com.mihaibojin.props.core.types.DoubleArray;
+import com.mihaibojin.props.core.types.IntArray;
+import com.mihaibojin.props.core.types.LongArray;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
@@ -35,6 +38,14 @@ public class Cast {
     return new BooleanConverter() {};
   }
 
+  /**
+   * Returns a {@link BooleanConverter}, which can also decode values to unboxed <code>boolean
+   * </code>s.
+   */
+  public static BooleanConverter asBooleanValue() {
+    return new BooleanConverter() {};
+  }
+
   /** Returns <code>Converter&lt;ChronoUnit&gt;</code>. */
   public static Converter<ChronoUnit> asChronoUnit() {
     return new ChronoUnitConverter() {};
@@ -50,6 +61,14 @@ public class Cast {
     return new DoubleConverter() {};
   }
 
+  /**
+   * Returns a {@link DoubleConverter}, which can also decode values to unboxed <code>double</code>
+   * s.
+   */
+  public static DoubleConverter asDoubleValue() {
+    return new DoubleConverter() {};
+  }
+
   /** Returns <code>Converter&lt;Duration&gt;</code>. */
   public static Converter<Duration> asDuration() {
     return new DurationConverter() {};
@@ -70,6 +89,125 @@ public class Cast {
     return new IntegerConverter() {};
   }
 
+  /**
+   * Returns an {@link IntegerConverter}, which can also decode values to unboxed <code>int</code>s.
+   */
+  public static IntegerConverter asIntValue() {
+    return new IntegerConverter() {};
+  }
+
+  /**
+   * Returns <code>Converter&lt;Double&gt;</code>, which parses values leniently.
+   *
+   * @see NumericConverter#isLenient()
+   */
+  public static Converter<Double> asLenientDouble() {
+    return new DoubleConverter() {
+      @Override
+      public boolean isLenient() {
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns <code>Converter&lt;Float&gt;</code>, which parses values leniently.
+   *
+   * @see NumericConverter#isLenient()
+   */
+  public static Converter<Float> asLenientFloat() {
+    return new FloatConverter() {
+      @Override
+      public boolean isLenient() {
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns <code>Converter&lt;Integer&gt;</code>, which parses values leniently.
+   *
+   * @see NumericConverter#isLenient()
+   */
+  public static Converter<Integer> asLenientInteger() {
+    return new IntegerConverter() {
+      @Override
+      public boolean isLenient() {
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns <code>Converter&lt;Long&gt;</code>, which parses values leniently.
+   *
+   * @see NumericConverter#isLenient()
+   */
+  public static Converter<Long> asLenientLong() {
+    return new LongConverter() {
+      @Override
+      public boolean isLenient() {
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns <code>Converter&lt;List&lt;Double&gt;&gt;</code>, which parses values leniently.
+   *
+   * @see NumericConverter#isLenient()
+   */
+  public static Converter<List<Double>> asLenientListOfDouble() {
+    return new ListOfDoubleConverter() {
+      @Override
+      public boolean isLenient() {
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns <code>Converter&lt;List&lt;Float&gt;&gt;</code>, which parses values leniently.
+   *
+   * @see NumericConverter#isLenient()
+   */
+  public static Converter<List<Float>> asLenientListOfFloat() {
+    return new ListOfFloatConverter() {
+      @Override
+      public boolean isLenient() {
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns <code>Converter&lt;List&lt;Integer&gt;&gt;</code>, which parses values leniently.
+   *
+   * @see NumericConverter#isLenient()
+   */
+  public static Converter<List<Integer>> asLenientListOfInteger() {
+    return new ListOfIntegerConverter() {
+      @Override
+      public boolean isLenient() {
+        return true;
+      }
+    };
+  }
+
+  /**
+   * Returns <code>Converter&lt;List&lt;Long&gt;&gt;</code>, which parses values leniently.
+   *
+   * @see NumericConverter#isLenient()
+   */
+  public static Converter<List<Long>> asLenientListOfLong() {
+    return new ListOfLongConverter() {
+      @Override
+      public boolean isLenient() {
+        return true;
+      }
+    };
+  }
+
   /** Returns <code>Converter&lt;List&lt;Double&gt;&gt;</code>. */
   public static Converter<List<Double>> asListOfDouble() {
     return new ListOfDoubleConverter() {};
@@ -95,11 +233,33 @@ public class Cast {
     return new ListOfStringConverter() {};
   }
 
+  /** Returns <code>Converter&lt;IntArray&gt;</code>. */
+  public static Converter<IntArray> asIntArray() {
+    return new IntArrayConverter() {};
+  }
+
+  /** Returns <code>Converter&lt;LongArray&gt;</code>. */
+  public static Converter<LongArray> asLongArray() {
+    return new LongArrayConverter() {};
+  }
+
+  /** Returns <code>Converter&lt;DoubleArray&gt;</code>. */
+  public static Converter<DoubleArray> asDoubleArray() {
+    return new DoubleArrayConverter() {};
+  }
+
   /** Returns <code>Converter&lt;Long&gt;</code>. */
   public static Converter<Long> asLong() {
     return new LongConverter() {};
   }
 
+  /**
+   * Returns a {@link LongConverter}, which can also decode values to unboxed <code>long</code>s.
+   */
+  public static LongConverter asLongValue() {
+    return new LongConverter() {};
+  }
+
   /**
    * Returns <code>Converter&lt;NumericDuration&gt;</code>, where the unit is {@link
    * ChronoUnit#SECONDS}.
@@ -16,6 +16,7 @@
 
 package com.mihaibojin.props.core.converters;
 
+import static java.util.Objects.isNull;
 import static java.util.logging.Level.SEVERE;
 
 import com.mihaibojin.props.core.annotations.Nullable;
@@ -26,13 +27,11 @@ import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Function;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 class ConverterUtils {
 
@@ -55,6 +54,46 @@ class ConverterUtils {
     }
   }
 
+  /**
+   * Attempts to parse a {@link String} using the specified (strict) <code>parser</code> and returns
+   * <code>null</code> if it cannot.
+   *
+   * <p>This methods logs a {@link java.util.logging.Level#SEVERE} event, without a stack trace,
+   * instead of throwing {@link NumberFormatException}s.
+   */
+  @Nullable
+  static <T extends Number> T safeParseNumber(String value, Function<String, T> parser) {
+    try {
+      return parser.apply(value);
+    } catch (NumberFormatException e) {
+      log.log(SEVERE, e::getMessage);
+      return null;
+    }
+  }
+
+  /**
+   * Returns <code>true</code> if the value consists of an optional minus sign followed by at most
+   * 18 ASCII digits.
+   *
+   * <p>Such values can be parsed with {@link Long#parseLong(String)} without overflowing, and are
+   * parsed to the same number by {@link #safeParseNumber(String)}, regardless of the locale.
+   */
+  static boolean isPlainLong(String value) {
+    int start = !value.isEmpty() && value.charAt(0) == '-' ? 1 : 0;
+    int digits = value.length() - start;
+    if (digits == 0 || digits > 18) {
+      return false;
+    }
+
+    for (int i = start; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Attempts to parse a {@link String} to an {@link ChronoUnit} and returns <code>null</code> if it
    * cannot.
@@ -76,11 +115,19 @@ class ConverterUtils {
    * Attempts to parse a {@link String} to an {@link Duration} and returns <code>null</code> if it
    * cannot.
    *
+   * <p>Canonical values are parsed by {@link TimeParser#parseDuration(String)}, and all others by
+   * the JDK.
+   *
    * <p>This methods logs a {@link java.util.logging.Level#SEVERE} event instead of throwing {@link
    * DateTimeParseException}s.
    */
   @Nullable
   static Duration safeParseDuration(String value) {
+    Duration duration = TimeParser.parseDuration(value);
+    if (!isNull(duration)) {
+      return duration;
+    }
+
     try {
       return Duration.parse(value);
     } catch (DateTimeParseException e) {
@@ -89,15 +136,40 @@ class ConverterUtils {
     }
   }
 
+  /**
+   * Attempts to create a {@link Duration} of the specified amount of units and returns <code>null
+   * </code> if it would overflow.
+   *
+   * <p>This methods logs a {@link java.util.logging.Level#SEVERE} event instead of throwing {@link
+   * ArithmeticException}s.
+   */
+  @Nullable
+  static Duration safeDurationOf(long amount, ChronoUnit unit) {
+    try {
+      return Duration.of(amount, unit);
+    } catch (ArithmeticException e) {
+      log.log(SEVERE, () -> amount + " " + unit + " is out of range for a Duration");
+      return null;
+    }
+  }
+
   /**
    * Attempts to parse a {@link String} to an {@link Instant} and returns <code>null</code> if it
    * cannot.
    *
+   * <p>Canonical values are parsed by {@link TimeParser#parseInstant(String)}, and all others by
+   * the JDK.
+   *
    * <p>This methods logs a {@link java.util.logging.Level#SEVERE} event instead of throwing {@link
    * DateTimeParseException}s.
    */
   @Nullable
   static Instant safeParseInstant(String value) {
+    Instant instant = TimeParser.parseInstant(value);
+    if (!isNull(instant)) {
+      return instant;
+    }
+
     try {
       return OffsetDateTime.parse(value).toInstant();
     } catch (DateTimeParseException e) {
@@ -106,21 +178,172 @@ class ConverterUtils {
     }
   }
 
-  /** Splits a {@link String} by the given <code>separator</code>. */
-  static List<String> splitString(String input, String separator) {
-    return List.of(input.split(Pattern.quote(separator)));
+  /**
+   * Splits a {@link String} by the given <code>separator</code>, and returns an immutable {@link
+   * List}.
+   *
+   * <p>Similarly to {@link String#split(String)}, trailing empty items are removed, unless the
+   * input consists of a single item.
+   *
+   * @param trim if true, leading and trailing whitespace is removed from each item
+   * @param escape if true, backslashes escape the following character (e.g., the separator)
+   */
+  static List<String> splitString(String input, String separator, boolean trim, boolean escape) {
+    Tokenizer tokenizer = new Tokenizer(input, separator, trim, escape);
+    String[] items = new String[tokenizer.maxTokens()];
+    int size = 0;
+    int lastNonEmpty = 0;
+    while (tokenizer.next()) {
+      items[size++] = tokenizer.token();
+      if (!tokenizer.isEmpty()) {
+        lastNonEmpty = size;
+      }
+    }
+
+    return immutableList(items, size > 1 ? lastNonEmpty : size);
   }
 
   /**
    * Splits a {@link String} by the given <code>separator</code>, casts every item using the
-   * specified <code>mapper</code> func and returns a {@link List} of numbers.
+   * specified <code>mapper</code> func and returns an immutable {@link List} of numbers.
+   *
+   * <p>Items are parsed leniently, with {@link #safeParseNumber(String)}.
    */
   static <T extends Number> List<T> splitStringAsNumbers(
       String input, String separator, Function<Number, T> mapper) {
-    return Stream.of(input.split(Pattern.quote(separator)))
-        .map(ConverterUtils::safeParseNumber)
-        .filter(Objects::nonNull)
-        .map(mapper)
-        .collect(Collectors.toList());
+    Tokenizer tokenizer = new Tokenizer(input, separator, false, false);
+    @SuppressWarnings("unchecked")
+    T[] items = (T[]) new Number[tokenizer.maxTokens()];
+    int size = 0;
+    while (tokenizer.next()) {
+      Number number = safeParseNumber(tokenizer.token());
+      if (!isNull(number)) {
+        items[size++] = mapper.apply(number);
+      }
+    }
+
+    return immutableList(items, size);
+  }
+
+  /**
+   * Splits a {@link String} by the given <code>separator</code>, parses every item using the
+   * specified (strict) <code>parser</code> and returns an immutable {@link List} of numbers.
+   *
+   * <p>Empty items are skipped. Items which cannot be parsed are skipped and logged as {@link
+   * java.util.logging.Level#SEVERE} events.
+   */
+  static <T extends Number> List<T> splitAndParseNumbers(
+      String input, String separator, RangeParser<T> parser) {
+    Tokenizer tokenizer = new Tokenizer(input, separator, true, false);
+    @SuppressWarnings("unchecked")
+    T[] items = (T[]) new Number[tokenizer.maxTokens()];
+    int size = 0;
+    while (tokenizer.next()) {
+      if (tokenizer.isEmpty()) {
+        continue;
+      }
+      try {
+        items[size] = parser.parse(tokenizer.source(), tokenizer.from(), tokenizer.to());
+        size++;
+      } catch (NumberFormatException e) {
+        log.log(SEVERE, e::getMessage);
+      }
+    }
+
+    return immutableList(items, size);
+  }
+
+  /**
+   * Splits a {@link String} by the given <code>separator</code>, in a single pass, and parses every
+   * (trimmed) item to an int, without boxing.
+   *
+   * <p>Empty items are skipped. Items which cannot be parsed are skipped and logged as {@link
+   * java.util.logging.Level#SEVERE} events.
+   */
+  static int[] splitStringAsInts(String input, String separator) {
+    Tokenizer tokenizer = new Tokenizer(input, separator, true, false);
+    int[] values = new int[tokenizer.maxTokens()];
+    int size = 0;
+    while (tokenizer.next()) {
+      if (tokenizer.isEmpty()) {
+        continue;
+      }
+      try {
+        values[size] = NumberParser.parseInt(tokenizer.source(), tokenizer.from(), tokenizer.to());
+        size++;
+      } catch (NumberFormatException e) {
+        log.log(SEVERE, e::getMessage);
+      }
+    }
+
+    return size == values.length ? values : Arrays.copyOf(values, size);
+  }
+
+  /**
+   * Splits a {@link String} by the given <code>separator</code>, in a single pass, and parses every
+   * (trimmed) item to a long, without boxing.
+   *
+   * <p>Empty items are skipped. Items which cannot be parsed are skipped and logged as {@link
+   * java.util.logging.Level#SEVERE} events.
+   */
+  static long[] splitStringAsLongs(String input, String separator) {
+    Tokenizer tokenizer = new Tokenizer(input, separator, true, false);
+    long[] values = new long[tokenizer.maxTokens()];
+    int size = 0;
+    while (tokenizer.next()) {
+      if (tokenizer.isEmpty()) {
+        continue;
+      }
+      try {
+        values[size] = NumberParser.parseLong(tokenizer.source(), tokenizer.from(), tokenizer.to());
+        size++;
+      } catch (NumberFormatException e) {
+        log.log(SEVERE, e::getMessage);
+      }
+    }
+
+    return size == values.length ? values : Arrays.copyOf(values, size);
+  }
+
+  /**
+   * Splits a {@link String} by the given <code>separator</code>, in a single pass, and parses every
+   * (trimmed) item to a double, without boxing.
+   *
+   * <p>Empty items are skipped. Items which cannot be parsed are skipped and logged as {@link
+   * java.util.logging.Level#SEVERE} events.
+   */
+  static double[] splitStringAsDoubles(String input, String separator) {
+    Tokenizer tokenizer = new Tokenizer(input, separator, true, false);
+    double[] values = new double[tokenizer.maxTokens()];
+    int size = 0;
+    while (tokenizer.next()) {
+      if (tokenizer.isEmpty()) {
+        continue;
+      }
+      try {
+        values[size] =
+            NumberParser.parseDouble(tokenizer.source(), tokenizer.from(), tokenizer.to());
+        size++;
+      } catch (NumberFormatException e) {
+        log.log(SEVERE, e::getMessage);
+      }
+    }
+
+    return size == values.length ? values : Arrays.copyOf(values, size);
+  }
+
+  /**
+   * Wraps the first <code>size</code> items in an immutable {@link List}, without copying them
+   * unless the array is larger than needed.
+   */
+  private static <T> List<T> immutableList(T[] items, int size) {
+    return Collections.unmodifiableList(
+        Arrays.asList(size == items.length ? items : Arrays.copyOf(items, size)));
+  }
+
+  /** Parses a range of a {@link String}, e.g., {@link NumberParser#parseLong(String, int, int)}. */
+  @FunctionalInterface
+  interface RangeParser<T> {
+    T parse(String input, int from, int to);
   }
 }
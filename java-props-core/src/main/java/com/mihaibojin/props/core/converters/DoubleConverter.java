@@ -16,17 +16,30 @@
 
 package com.mihaibojin.props.core.converters;
 
+import static com.mihaibojin.props.core.converters.ConverterUtils.isPlainLong;
 import static com.mihaibojin.props.core.converters.ConverterUtils.safeParseNumber;
+import static java.lang.String.format;
 import static java.util.Objects.isNull;
 
 import com.mihaibojin.props.core.annotations.Nullable;
 
-/** Converter that casts the inputted {@link String} to an {@link Double} value. */
-public interface DoubleConverter extends Converter<Double> {
+/**
+ * Converter that casts the inputted {@link String} to an {@link Double} value. Values are parsed
+ * strictly, unless {@link NumericConverter#isLenient()} is overridden.
+ */
+public interface DoubleConverter extends Converter<Double>, NumericConverter {
 
   @Override
   @Nullable
   default Double decode(String value) {
+    if (!isLenient()) {
+      return safeParseNumber(value, NumberParser::parseDouble);
+    }
+
+    if (isPlainWholeNumber(value)) {
+      return (double) Long.parseLong(value);
+    }
+
     Number number = safeParseNumber(value);
     if (isNull(number)) {
       return null;
@@ -34,4 +47,34 @@ public interface DoubleConverter extends Converter<Double> {
 
     return number.doubleValue();
   }
+
+  /**
+   * Decodes the inputted {@link String} to an unboxed <code>double</code>.
+   *
+   * @throws NumberFormatException if the value cannot be parsed, or is out of range
+   */
+  default double decodeAsDouble(String value) {
+    if (!isLenient()) {
+      return NumberParser.parseDouble(value);
+    }
+
+    if (isPlainWholeNumber(value)) {
+      return Long.parseLong(value);
+    }
+
+    Number number = safeParseNumber(value);
+    if (isNull(number)) {
+      throw new NumberFormatException(format("Could not parse %s to a double", value));
+    }
+
+    return number.doubleValue();
+  }
+
+  /**
+   * Returns <code>true</code> if the value is a whole number which can be parsed without a {@link
+   * java.text.NumberFormat}; negative zero is excluded, since it is parsed to <code>-0.0</code>.
+   */
+  private static boolean isPlainWholeNumber(String value) {
+    return isPlainLong(value) && (value.charAt(0) != '-' || Long.parseLong(value) != 0);
+  }
 }
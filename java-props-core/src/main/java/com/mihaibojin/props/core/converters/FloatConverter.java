@@ -21,12 +21,19 @@ import static java.util.Objects.isNull;
 
 import com.mihaibojin.props.core.annotations.Nullable;
 
-/** Converter that casts the inputted {@link String} to an {@link Float} value. */
-public interface FloatConverter extends Converter<Float> {
+/**
+ * Converter that casts the inputted {@link String} to an {@link Float} value. Values are parsed
+ * strictly, unless {@link NumericConverter#isLenient()} is overridden.
+ */
+public interface FloatConverter extends Converter<Float>, NumericConverter {
 
   @Override
   @Nullable
   default Float decode(String value) {
+    if (!isLenient()) {
+      return safeParseNumber(value, NumberParser::parseFloat);
+    }
+
     Number number = safeParseNumber(value);
     if (isNull(number)) {
       return null;
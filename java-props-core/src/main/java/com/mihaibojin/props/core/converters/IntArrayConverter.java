@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.converters;
+
+import static com.mihaibojin.props.core.converters.ConverterUtils.splitStringAsInts;
+
+import com.mihaibojin.props.core.types.IntArray;
+
+/**
+ * Converter that splits the inputted {@link String} into an {@link IntArray}, without boxing its
+ * elements. The separator can be configured by overriding {@link ListConverter#separator()}.
+ */
+public interface IntArrayConverter extends Converter<IntArray>, ListConverter {
+
+  @Override
+  default IntArray decode(String value) {
+    return IntArray.wrap(splitStringAsInts(value, separator()));
+  }
+
+  @Override
+  default String encode(IntArray value) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < value.size(); i++) {
+      if (i > 0) {
+        sb.append(separator());
+      }
+      sb.append(value.get(i));
+    }
+    return sb.toString();
+  }
+}
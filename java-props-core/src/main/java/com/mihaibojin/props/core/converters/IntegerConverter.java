@@ -16,17 +16,30 @@
 
 package com.mihaibojin.props.core.converters;
 
+import static com.mihaibojin.props.core.converters.ConverterUtils.isPlainLong;
 import static com.mihaibojin.props.core.converters.ConverterUtils.safeParseNumber;
+import static java.lang.String.format;
 import static java.util.Objects.isNull;
 
 import com.mihaibojin.props.core.annotations.Nullable;
 
-/** Converter that casts the inputted {@link String} to an {@link Integer} value. */
-public interface IntegerConverter extends Converter<Integer> {
+/**
+ * Converter that casts the inputted {@link String} to an {@link Integer} value. Values are parsed
+ * strictly, unless {@link NumericConverter#isLenient()} is overridden.
+ */
+public interface IntegerConverter extends Converter<Integer>, NumericConverter {
 
   @Override
   @Nullable
   default Integer decode(String value) {
+    if (!isLenient()) {
+      return safeParseNumber(value, NumberParser::parseInt);
+    }
+
+    if (isPlainLong(value)) {
+      return (int) Long.parseLong(value);
+    }
+
     Number number = safeParseNumber(value);
     if (isNull(number)) {
       return null;
@@ -34,4 +47,26 @@ public interface IntegerConverter extends Converter<Integer> {
 
     return number.intValue();
   }
+
+  /**
+   * Decodes the inputted {@link String} to an unboxed <code>int</code>.
+   *
+   * @throws NumberFormatException if the value cannot be parsed, or is out of range
+   */
+  default int decodeAsInt(String value) {
+    if (!isLenient()) {
+      return NumberParser.parseInt(value);
+    }
+
+    if (isPlainLong(value)) {
+      return (int) Long.parseLong(value);
+    }
+
+    Number number = safeParseNumber(value);
+    if (isNull(number)) {
+      throw new NumberFormatException(format("Could not parse %s to an int", value));
+    }
+
+    return number.intValue();
+  }
 }
@@ -26,4 +26,28 @@ public interface ListConverter {
   default String separator() {
     return ",";
   }
+
+  /**
+   * Convenience method allowing subclasses to remove leading and trailing whitespace from each
+   * item.
+   *
+   * <p>defaults to <code>false</code>; numeric items are always trimmed before being parsed
+   */
+  default boolean trimItems() {
+    return false;
+  }
+
+  /**
+   * Convenience method allowing subclasses to escape separators with a backslash, e.g., <code>
+   * a\,b,c</code> is split into <code>a,b</code> and <code>c</code>; a literal backslash is written
+   * as <code>\\</code>.
+   *
+   * <p>Note that backslashes must be doubled in <code>.properties</code> files, since they are also
+   * used as escape characters by {@link java.util.Properties#load(java.io.Reader)}.
+   *
+   * <p>defaults to <code>false</code>
+   */
+  default boolean allowEscapes() {
+    return false;
+  }
 }
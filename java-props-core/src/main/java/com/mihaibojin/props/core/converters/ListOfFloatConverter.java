@@ -16,18 +16,25 @@
 
 package com.mihaibojin.props.core.converters;
 
+import static com.mihaibojin.props.core.converters.ConverterUtils.splitAndParseNumbers;
 import static com.mihaibojin.props.core.converters.ConverterUtils.splitStringAsNumbers;
 
 import java.util.List;
 
 /**
  * Converter that splits the inputted {@link String} into a {@link List} of {@link Float}s. The
- * separator can be configured by overriding {@link ListConverter#separator()}.
+ * separator can be configured by overriding {@link ListConverter#separator()}, and lenient parsing
+ * enabled by overriding {@link NumericConverter#isLenient()}.
  */
-public interface ListOfFloatConverter extends Converter<List<Float>>, ListConverter {
+public interface ListOfFloatConverter
+    extends Converter<List<Float>>, ListConverter, NumericConverter {
 
   @Override
   default List<Float> decode(String value) {
+    if (!isLenient()) {
+      return splitAndParseNumbers(value, separator(), NumberParser::parseFloat);
+    }
+
     return splitStringAsNumbers(value, separator(), Number::floatValue);
   }
 }
@@ -22,12 +22,13 @@ import java.util.List;
 
 /**
  * Converter that splits the inputted {@link String} into a {@link List} of {@link String}s. The
- * separator can be configured by overriding {@link ListConverter#separator()}.
+ * separator, trimming, and escaping can be configured by overriding the methods of {@link
+ * ListConverter}.
  */
 public interface ListOfStringConverter extends Converter<List<String>>, ListConverter {
 
   @Override
   default List<String> decode(String value) {
-    return splitString(value, separator());
+    return splitString(value, separator(), trimItems(), allowEscapes());
   }
 }
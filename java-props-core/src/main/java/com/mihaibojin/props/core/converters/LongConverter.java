@@ -16,17 +16,30 @@
 
 package com.mihaibojin.props.core.converters;
 
+import static com.mihaibojin.props.core.converters.ConverterUtils.isPlainLong;
 import static com.mihaibojin.props.core.converters.ConverterUtils.safeParseNumber;
+import static java.lang.String.format;
 import static java.util.Objects.isNull;
 
 import com.mihaibojin.props.core.annotations.Nullable;
 
-/** Converter that casts the inputted {@link String} to an {@link Long} value. */
-public interface LongConverter extends Converter<Long> {
+/**
+ * Converter that casts the inputted {@link String} to an {@link Long} value. Values are parsed
+ * strictly, unless {@link NumericConverter#isLenient()} is overridden.
+ */
+public interface LongConverter extends Converter<Long>, NumericConverter {
 
   @Override
   @Nullable
   default Long decode(String value) {
+    if (!isLenient()) {
+      return safeParseNumber(value, NumberParser::parseLong);
+    }
+
+    if (isPlainLong(value)) {
+      return Long.parseLong(value);
+    }
+
     Number number = safeParseNumber(value);
     if (isNull(number)) {
       return null;
@@ -34,4 +47,26 @@ public interface LongConverter extends Converter<Long> {
 
     return number.longValue();
   }
+
+  /**
+   * Decodes the inputted {@link String} to an unboxed <code>long</code>.
+   *
+   * @throws NumberFormatException if the value cannot be parsed, or is out of range
+   */
+  default long decodeAsLong(String value) {
+    if (!isLenient()) {
+      return NumberParser.parseLong(value);
+    }
+
+    if (isPlainLong(value)) {
+      return Long.parseLong(value);
+    }
+
+    Number number = safeParseNumber(value);
+    if (isNull(number)) {
+      throw new NumberFormatException(format("Could not parse %s to a long", value));
+    }
+
+    return number.longValue();
+  }
 }
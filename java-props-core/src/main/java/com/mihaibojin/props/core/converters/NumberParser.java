@@ -0,0 +1,313 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.converters;
+
+import static java.lang.String.format;
+
+/**
+ * Strict, locale-independent number parsing.
+ *
+ * <p>Values are parsed directly from the input, without allocating intermediate objects (except
+ * when a decimal number cannot be represented exactly by the fast path, in which case its validated
+ * representation is delegated to {@link Double#parseDouble(String)}, respectively {@link
+ * Float#parseFloat(String)}).
+ *
+ * <p>Surrounding whitespace is ignored, but any other character which is not part of the number
+ * causes the whole value to be rejected. Integers are expressed as an optional sign followed by
+ * ASCII digits; decimals may additionally have a fractional part and an exponent (e.g., <code>
+ * -1.5e3</code>), or be one of <code>NaN</code> and <code>[+-]Infinity</code>. Grouping separators,
+ * hexadecimal values, and type suffixes are not supported.
+ *
+ * <p>All methods throw {@link NumberFormatException}s if the value is not a number, or if it is out
+ * of range for the requested type.
+ */
+final class NumberParser {
+
+  // powers of ten which can be represented exactly, as doubles and floats
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final float[] FLOAT_POWERS_OF_TEN = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+  private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+  private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+  private static final int MAX_MANTISSA_DIGITS = 18;
+  // large enough to make any double overflow or underflow, small enough not to overflow an int
+  private static final int MAX_EXPONENT = 100_000;
+
+  private NumberParser() {}
+
+  /** Parses the specified value to an <code>int</code>. */
+  static int parseInt(String value) {
+    return parseInt(value, 0, value.length());
+  }
+
+  /** Parses the specified range, <code>[from, to)</code>, of the input to an <code>int</code>. */
+  static int parseInt(String input, int from, int to) {
+    long value = parseInteger(input, from, to, Integer.MIN_VALUE, Integer.MAX_VALUE, "an int");
+    return (int) value;
+  }
+
+  /** Parses the specified value to a <code>long</code>. */
+  static long parseLong(String value) {
+    return parseLong(value, 0, value.length());
+  }
+
+  /** Parses the specified range, <code>[from, to)</code>, of the input to a <code>long</code>. */
+  static long parseLong(String input, int from, int to) {
+    return parseInteger(input, from, to, Long.MIN_VALUE, Long.MAX_VALUE, "a long");
+  }
+
+  /** Parses the specified value to a <code>double</code>. */
+  static double parseDouble(String value) {
+    return parseDouble(value, 0, value.length());
+  }
+
+  /** Parses the specified range, <code>[from, to)</code>, of the input to a <code>double</code>. */
+  static double parseDouble(String input, int from, int to) {
+    Decimal decimal = new Decimal();
+    int end = trimEnd(input, from, to);
+    int start = trimStart(input, from, end);
+    int special = decimal.parse(input, start, end);
+    if (special != 0) {
+      return special > 1 ? Double.NaN : special * Double.POSITIVE_INFINITY;
+    }
+
+    double result;
+    if (decimal.isExact
+        && decimal.mantissa <= MAX_EXACT_DOUBLE_MANTISSA
+        && Math.abs(decimal.exponent) < DOUBLE_POWERS_OF_TEN.length) {
+      // both operands are exact, hence the result is correctly rounded
+      result =
+          decimal.exponent >= 0
+              ? decimal.mantissa * DOUBLE_POWERS_OF_TEN[decimal.exponent]
+              : decimal.mantissa / DOUBLE_POWERS_OF_TEN[-decimal.exponent];
+      result = decimal.isNegative ? -result : result;
+    } else {
+      result = Double.parseDouble(input.substring(start, end));
+    }
+
+    if (Double.isInfinite(result)) {
+      throw outOfRange(input, start, end, "a double");
+    }
+    return result;
+  }
+
+  /** Parses the specified value to a <code>float</code>. */
+  static float parseFloat(String value) {
+    return parseFloat(value, 0, value.length());
+  }
+
+  /** Parses the specified range, <code>[from, to)</code>, of the input to a <code>float</code>. */
+  static float parseFloat(String input, int from, int to) {
+    Decimal decimal = new Decimal();
+    int end = trimEnd(input, from, to);
+    int start = trimStart(input, from, end);
+    int special = decimal.parse(input, start, end);
+    if (special != 0) {
+      return special > 1 ? Float.NaN : special * Float.POSITIVE_INFINITY;
+    }
+
+    float result;
+    if (decimal.isExact
+        && decimal.mantissa <= MAX_EXACT_FLOAT_MANTISSA
+        && Math.abs(decimal.exponent) < FLOAT_POWERS_OF_TEN.length) {
+      // both operands are exact, hence the result is correctly rounded
+      result =
+          decimal.exponent >= 0
+              ? decimal.mantissa * FLOAT_POWERS_OF_TEN[decimal.exponent]
+              : decimal.mantissa / FLOAT_POWERS_OF_TEN[-decimal.exponent];
+      result = decimal.isNegative ? -result : result;
+    } else {
+      result = Float.parseFloat(input.substring(start, end));
+    }
+
+    if (Float.isInfinite(result)) {
+      throw outOfRange(input, start, end, "a float");
+    }
+    return result;
+  }
+
+  /**
+   * Parses an optionally signed sequence of ASCII digits, ensuring it fits in <code>[min, max]
+   * </code>.
+   *
+   * <p>The value is accumulated negatively, since the negative range is larger than the positive
+   * one.
+   */
+  private static long parseInteger(
+      String input, int from, int to, long min, long max, String type) {
+    int end = trimEnd(input, from, to);
+    int i = trimStart(input, from, end);
+    int start = i;
+
+    boolean isNegative = false;
+    if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+      isNegative = input.charAt(i) == '-';
+      i++;
+    }
+    if (i == end) {
+      throw notANumber(input, start, end);
+    }
+
+    long limit = isNegative ? min : -max;
+    long multiplicationLimit = limit / 10;
+    boolean isOverflow = false;
+    long result = 0;
+    for (; i < end; i++) {
+      int digit = input.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw notANumber(input, start, end);
+      }
+
+      if (isOverflow || result < multiplicationLimit || result * 10 < limit + digit) {
+        // keep validating the remaining characters, to distinguish non-numbers from large numbers
+        isOverflow = true;
+        continue;
+      }
+      result = result * 10 - digit;
+    }
+
+    if (isOverflow) {
+      throw outOfRange(input, start, end, type);
+    }
+    return isNegative ? result : -result;
+  }
+
+  /** Returns the index of the first non-whitespace character in [from, to), or <code>to</code>. */
+  private static int trimStart(String input, int from, int to) {
+    while (from < to && Character.isWhitespace(input.charAt(from))) {
+      from++;
+    }
+    return from;
+  }
+
+  /**
+   * Returns the index after the last non-whitespace character in [from, to), or <code>from</code>.
+   */
+  private static int trimEnd(String input, int from, int to) {
+    while (to > from && Character.isWhitespace(input.charAt(to - 1))) {
+      to--;
+    }
+    return to;
+  }
+
+  private static NumberFormatException notANumber(String input, int from, int to) {
+    return new NumberFormatException(
+        format("Could not parse '%s' to a number", input.substring(from, to)));
+  }
+
+  private static NumberFormatException outOfRange(String input, int from, int to, String type) {
+    return new NumberFormatException(
+        format("'%s' is out of range for %s", input.substring(from, to), type));
+  }
+
+  /**
+   * The validated components of a decimal number: <code>[-]mantissa * 10^exponent</code>.
+   *
+   * <p>Allocated per call, since it does not escape and can be scalar-replaced by the JIT.
+   */
+  private static final class Decimal {
+    private boolean isNegative;
+    private long mantissa;
+    private int exponent;
+    // false if the mantissa has more significant digits than can be accumulated
+    private boolean isExact = true;
+
+    /**
+     * Validates and parses the specified range.
+     *
+     * @return 0 for finite numbers, 2 for <code>NaN</code>, and 1 or -1 for positive, respectively
+     *     negative infinity
+     * @throws NumberFormatException if the range does not represent a decimal number
+     */
+    private int parse(String input, int start, int end) {
+      int i = start;
+      if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+        isNegative = input.charAt(i) == '-';
+        i++;
+      }
+
+      if (input.startsWith("NaN", i) && i + 3 == end && i == start) {
+        return 2;
+      }
+      if (input.startsWith("Infinity", i) && i + 8 == end) {
+        return isNegative ? -1 : 1;
+      }
+
+      int digits = 0;
+      int significantDigits = 0;
+      int fractionDigits = 0;
+      boolean isFraction = false;
+      for (; i < end; i++) {
+        char c = input.charAt(i);
+        if (c == '.' && !isFraction) {
+          isFraction = true;
+          continue;
+        }
+        if (c < '0' || c > '9') {
+          break;
+        }
+
+        digits++;
+        if (isFraction) {
+          fractionDigits++;
+        }
+        if (significantDigits > 0 || c != '0') {
+          if (++significantDigits > MAX_MANTISSA_DIGITS) {
+            isExact = false;
+          } else {
+            mantissa = mantissa * 10 + (c - '0');
+          }
+        }
+      }
+      if (digits == 0) {
+        throw notANumber(input, start, end);
+      }
+
+      int explicitExponent = 0;
+      if (i < end && (input.charAt(i) == 'e' || input.charAt(i) == 'E')) {
+        i++;
+        boolean isNegativeExponent = false;
+        if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+          isNegativeExponent = input.charAt(i) == '-';
+          i++;
+        }
+        if (i == end) {
+          throw notANumber(input, start, end);
+        }
+
+        for (; i < end; i++) {
+          int digit = input.charAt(i) - '0';
+          if (digit < 0 || digit > 9) {
+            throw notANumber(input, start, end);
+          }
+          explicitExponent = Math.min(explicitExponent * 10 + digit, MAX_EXPONENT);
+        }
+        explicitExponent = isNegativeExponent ? -explicitExponent : explicitExponent;
+      }
+      if (i != end) {
+        throw notANumber(input, start, end);
+      }
+
+      exponent = explicitExponent - fractionDigits;
+      return 0;
+    }
+  }
+}
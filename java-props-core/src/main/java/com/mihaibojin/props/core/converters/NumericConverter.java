@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.converters;
+
+/**
+ * Implemented by converters which decode numbers, allowing them to opt into lenient parsing.
+ *
+ * <p>By default, numbers are parsed strictly and independently of the locale (see {@link
+ * NumberParser}): the whole value must be a number which fits in the target type, otherwise it is
+ * not decoded, and an error is logged. Lenient parsing can be enabled by overriding {@link
+ * #isLenient()}, or by using the matching factory in {@link Cast} (e.g., {@link
+ * Cast#asLenientInteger()}).
+ */
+public interface NumericConverter {
+
+  /**
+   * Allows implementations to opt into lenient parsing, using the default locale's {@link
+   * java.text.NumberFormat}.
+   *
+   * <p>Lenient parsing accepts grouping separators (e.g., <code>1,000</code>) and ignores any
+   * characters following the number, while values which do not fit in the target type are silently
+   * truncated.
+   *
+   * <p>defaults to <code>false</code>, i.e., values are parsed strictly, regardless of the locale
+   */
+  default boolean isLenient() {
+    return false;
+  }
+}
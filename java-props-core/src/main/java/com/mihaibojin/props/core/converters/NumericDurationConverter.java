@@ -16,6 +16,7 @@
 
 package com.mihaibojin.props.core.converters;
 
+import static com.mihaibojin.props.core.converters.ConverterUtils.safeDurationOf;
 import static com.mihaibojin.props.core.converters.ConverterUtils.safeParseNumber;
 import static java.util.Objects.isNull;
 
@@ -23,18 +24,23 @@ import com.mihaibojin.props.core.annotations.Nullable;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 
-/** Converter that casts the input {@link Number} to an {@link Duration} value. */
-public interface NumericDurationConverter extends Converter<Duration> {
+/**
+ * Converter that casts the input {@link Number} to an {@link Duration} value. Values are parsed
+ * strictly, as a whole number of {@link #unit()}s, unless {@link NumericConverter#isLenient()} is
+ * overridden.
+ */
+public interface NumericDurationConverter extends Converter<Duration>, NumericConverter {
 
   @Override
   @Nullable
   default Duration decode(String value) {
-    Number number = safeParseNumber(value);
+    Number number =
+        isLenient() ? safeParseNumber(value) : safeParseNumber(value, NumberParser::parseLong);
     if (isNull(number)) {
       return null;
     }
 
-    return Duration.of(number.longValue(), unit());
+    return safeDurationOf(number.longValue(), unit());
   }
 
   /**
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.converters;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Hand-rolled parsers for the canonical ISO-8601 forms of {@link Instant}s and {@link Duration}s,
+ * which avoid the regular expressions and {@link java.time.format.DateTimeFormatter}s used by the
+ * JDK.
+ *
+ * <p>Only a subset of the accepted syntax is supported; for any other input (including invalid
+ * values), the methods return <code>null</code> and callers should fall back to the JDK parsers,
+ * which also report any errors. Supported values are always parsed to the same result as the JDK.
+ */
+final class TimeParser {
+
+  private static final int SECONDS_PER_MINUTE = 60;
+  private static final int SECONDS_PER_HOUR = 60 * SECONDS_PER_MINUTE;
+  private static final int SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+  // ensures that days, hours, minutes, and seconds can be summed without overflowing
+  private static final int MAX_DURATION_DIGITS = 9;
+  private static final String DESIGNATORS = "DTHMS";
+
+  private TimeParser() {}
+
+  /**
+   * Parses date-times such as <code>2020-01-01T00:00:00Z</code>, <code>2020-01-01T00:00:00.123Z
+   * </code>, or <code>2020-01-01T02:00:00+02:00</code>, which are equivalent to <code>
+   * OffsetDateTime.parse(value).toInstant()</code>.
+   *
+   * @return the parsed instant, or <code>null</code> if the value is not in one of these forms
+   */
+  @Nullable
+  static Instant parseInstant(String value) {
+    int length = value.length();
+    if (length < 20
+        || value.charAt(4) != '-'
+        || value.charAt(7) != '-'
+        || value.charAt(10) != 'T'
+        || value.charAt(13) != ':'
+        || value.charAt(16) != ':') {
+      return null;
+    }
+
+    int year = digits(value, 0, 4);
+    int month = digits(value, 5, 7);
+    int day = digits(value, 8, 10);
+    int hour = digits(value, 11, 13);
+    int minute = digits(value, 14, 16);
+    int second = digits(value, 17, 19);
+    if (year < 0
+        || month < 1
+        || month > 12
+        || day < 1
+        || day > lengthOfMonth(year, month)
+        || hour < 0
+        || hour > 23
+        || minute < 0
+        || minute > 59
+        || second < 0
+        || second > 59) {
+      return null;
+    }
+
+    int i = 19;
+    int nanos = 0;
+    if (value.charAt(i) == '.') {
+      int start = ++i;
+      while (i < length && i - start < 9 && isDigit(value.charAt(i))) {
+        nanos = nanos * 10 + value.charAt(i++) - '0';
+      }
+      if (i == start) {
+        return null;
+      }
+      for (int scale = i - start; scale < 9; scale++) {
+        nanos *= 10;
+      }
+    }
+
+    int offsetSeconds;
+    if (i == length - 1 && value.charAt(i) == 'Z') {
+      offsetSeconds = 0;
+    } else if (i == length - 6
+        && (value.charAt(i) == '+' || value.charAt(i) == '-')
+        && value.charAt(i + 3) == ':') {
+      int offsetHours = digits(value, i + 1, i + 3);
+      int offsetMinutes = digits(value, i + 4, i + 6);
+      if (offsetHours < 0
+          || offsetMinutes < 0
+          || offsetMinutes > 59
+          || offsetHours * SECONDS_PER_HOUR + offsetMinutes * SECONDS_PER_MINUTE
+              > 18 * SECONDS_PER_HOUR) {
+        return null;
+      }
+      offsetSeconds = offsetHours * SECONDS_PER_HOUR + offsetMinutes * SECONDS_PER_MINUTE;
+      offsetSeconds = value.charAt(i) == '-' ? -offsetSeconds : offsetSeconds;
+    } else {
+      return null;
+    }
+
+    long epochSeconds =
+        epochDay(year, month, day) * SECONDS_PER_DAY
+            + hour * SECONDS_PER_HOUR
+            + minute * SECONDS_PER_MINUTE
+            + second
+            - offsetSeconds;
+    return Instant.ofEpochSecond(epochSeconds, nanos);
+  }
+
+  /**
+   * Parses durations such as <code>PT30S</code>, <code>PT1H30M</code>, <code>P1DT12H</code>, or
+   * <code>-PT0.5S</code>, which are equivalent to <code>Duration.parse(value)</code>.
+   *
+   * <p>Only upper-case designators, a leading minus sign, and at most 9 digits per component are
+   * supported.
+   *
+   * @return the parsed duration, or <code>null</code> if the value is not in one of these forms
+   */
+  @Nullable
+  static Duration parseDuration(String value) {
+    int length = value.length();
+    int i = 0;
+    boolean isNegative = i < length && value.charAt(i) == '-';
+    if (isNegative) {
+      i++;
+    }
+    if (i == length || value.charAt(i++) != 'P') {
+      return null;
+    }
+
+    long seconds = 0;
+    int nanos = 0;
+    boolean hasComponents = false;
+    boolean isTime = false;
+    // designators must be specified in this order, and at most once
+    int lastDesignator = -1;
+    while (i < length) {
+      char c = value.charAt(i);
+      if (c == 'T') {
+        if (isTime || i == length - 1) {
+          return null;
+        }
+        isTime = true;
+        lastDesignator = DESIGNATORS.indexOf('T');
+        i++;
+        continue;
+      }
+
+      int start = i;
+      long amount = 0;
+      while (i < length && i - start < MAX_DURATION_DIGITS && isDigit(value.charAt(i))) {
+        amount = amount * 10 + value.charAt(i++) - '0';
+      }
+      if (i == start || i == length) {
+        return null;
+      }
+
+      if (isTime && value.charAt(i) == '.') {
+        int fractionStart = ++i;
+        while (i < length && i - fractionStart < 9 && isDigit(value.charAt(i))) {
+          nanos = nanos * 10 + value.charAt(i++) - '0';
+        }
+        if (i == fractionStart || i == length || value.charAt(i) != 'S') {
+          return null;
+        }
+        for (int scale = i - fractionStart; scale < 9; scale++) {
+          nanos *= 10;
+        }
+      }
+
+      char designator = value.charAt(i++);
+      int order = DESIGNATORS.indexOf(designator);
+      if (order <= lastDesignator || isTime != (designator != 'D')) {
+        return null;
+      }
+      lastDesignator = order;
+      hasComponents = true;
+
+      switch (designator) {
+        case 'D':
+          seconds += amount * SECONDS_PER_DAY;
+          break;
+        case 'H':
+          seconds += amount * SECONDS_PER_HOUR;
+          break;
+        case 'M':
+          seconds += amount * SECONDS_PER_MINUTE;
+          break;
+        default:
+          seconds += amount;
+          break;
+      }
+    }
+
+    if (!hasComponents) {
+      return null;
+    }
+
+    Duration duration = Duration.ofSeconds(seconds, nanos);
+    return isNegative ? duration.negated() : duration;
+  }
+
+  /** Parses the ASCII digits in the specified range, or returns -1 if it contains other chars. */
+  private static int digits(String value, int from, int to) {
+    int result = 0;
+    for (int i = from; i < to; i++) {
+      char c = value.charAt(i);
+      if (!isDigit(c)) {
+        return -1;
+      }
+      result = result * 10 + c - '0';
+    }
+    return result;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean isLeapYear(int year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        return isLeapYear(year) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  /**
+   * Returns the number of days since 1970-01-01 of the specified (valid) date, similarly to {@link
+   * java.time.LocalDate#toEpochDay()}.
+   */
+  private static long epochDay(int year, int month, int day) {
+    // shift the year to start in March, so that leap days are the last day of the year
+    long y = month <= 2 ? year - 1 : year;
+    long era = Math.floorDiv(y, 400);
+    long yearOfEra = y - era * 400;
+    long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+    long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097 + dayOfEra - 719468;
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.converters;
+
+/**
+ * Splits a {@link String} into tokens delimited by a (possibly multi-character) separator, in a
+ * single pass and without regular expressions.
+ *
+ * <p>Tokens are exposed as ranges of their backing {@link String}, so that they can be parsed
+ * without being copied; a token is only copied if it contains escape sequences, or if it is
+ * explicitly requested via {@link #token()}.
+ *
+ * <p>An empty separator results in a single token. If escaping is enabled, a backslash causes the
+ * following character to be treated literally (e.g., <code>a\,b</code> is a single token, <code>
+ * a,b</code>, and <code>\\</code> is a literal backslash).
+ *
+ * <p>Usage: <code>while (tokenizer.next()) { parse(tokenizer.source(), tokenizer.from(),
+ * tokenizer.to()); }</code>
+ */
+final class Tokenizer {
+
+  static final char ESCAPE = '\\';
+
+  private final String input;
+  private final String separator;
+  private final boolean trim;
+  private final boolean escape;
+  private int position;
+
+  private String source;
+  private int from;
+  private int to;
+
+  /**
+   * Tokenizes the specified input.
+   *
+   * @param trim if true, leading and trailing whitespace is excluded from each token
+   * @param escape if true, backslashes escape the following character
+   */
+  Tokenizer(String input, String separator, boolean trim, boolean escape) {
+    this.input = input;
+    this.separator = separator;
+    this.trim = trim;
+    // skip unescaping altogether, if the input does not contain any escape characters
+    this.escape = escape && input.indexOf(ESCAPE) >= 0;
+    this.source = input;
+  }
+
+  /**
+   * Returns an upper bound of the number of tokens, which is exact unless separators are escaped.
+   */
+  int maxTokens() {
+    if (separator.isEmpty()) {
+      return 1;
+    }
+
+    int count = 1;
+    for (int i = input.indexOf(separator);
+        i >= 0;
+        i = input.indexOf(separator, i + separator.length())) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Advances to the next token.
+   *
+   * @return false if there are no more tokens
+   */
+  boolean next() {
+    if (position > input.length()) {
+      return false;
+    }
+
+    int end;
+    if (escape) {
+      end = nextUnescapedSeparator(position);
+      int escapeIndex = input.indexOf(ESCAPE, position);
+      if (escapeIndex >= 0 && escapeIndex < end) {
+        setToken(unescape(position, escapeIndex, end), 0, -1);
+      } else {
+        setToken(input, position, end);
+      }
+    } else {
+      end = nextSeparator(position);
+      setToken(input, position, end);
+    }
+
+    // an empty separator, or reaching the end of the input, completes the tokenization
+    position = end == input.length() ? end + 1 : end + separator.length();
+    return true;
+  }
+
+  /** Returns the {@link String} which backs the current token. */
+  String source() {
+    return source;
+  }
+
+  /** Returns the start index (inclusive) of the current token, in its {@link #source()}. */
+  int from() {
+    return from;
+  }
+
+  /** Returns the end index (exclusive) of the current token, in its {@link #source()}. */
+  int to() {
+    return to;
+  }
+
+  /** Returns true if the current token is empty. */
+  boolean isEmpty() {
+    return from == to;
+  }
+
+  /** Returns the current token, as a new {@link String} (unless it spans its whole source). */
+  String token() {
+    return source.substring(from, to);
+  }
+
+  /** Sets the current token; a negative <code>end</code> indicates the end of the source. */
+  private void setToken(String source, int start, int end) {
+    end = end < 0 ? source.length() : end;
+    if (trim) {
+      while (start < end && Character.isWhitespace(source.charAt(start))) {
+        start++;
+      }
+      while (end > start && Character.isWhitespace(source.charAt(end - 1))) {
+        end--;
+      }
+    }
+
+    this.source = source;
+    this.from = start;
+    this.to = end;
+  }
+
+  /**
+   * Returns the index of the next separator, starting at <code>start</code>, or the input's length
+   * if there are no more separators.
+   */
+  private int nextSeparator(int start) {
+    if (separator.isEmpty()) {
+      return input.length();
+    }
+
+    int index = input.indexOf(separator, start);
+    return index < 0 ? input.length() : index;
+  }
+
+  /** Similar to {@link #nextSeparator(int)}, but skips escaped characters. */
+  private int nextUnescapedSeparator(int start) {
+    for (int i = start; i < input.length(); i++) {
+      if (input.charAt(i) == ESCAPE) {
+        // skip the escaped character
+        i++;
+      } else if (!separator.isEmpty() && input.startsWith(separator, i)) {
+        return i;
+      }
+    }
+    return input.length();
+  }
+
+  /**
+   * Returns a copy of the input range <code>[start, end)</code>, without escape characters.
+   *
+   * @param escapeIndex the index of the first escape character in the range
+   */
+  private String unescape(int start, int escapeIndex, int end) {
+    StringBuilder sb = new StringBuilder(end - start - 1);
+    sb.append(input, start, escapeIndex);
+    for (int i = escapeIndex; i < end; i++) {
+      char c = input.charAt(i);
+      if (c == ESCAPE && i + 1 < end) {
+        c = input.charAt(++i);
+      }
+      sb.append(c);
+    }
+    return sb.toString();
+  }
+}
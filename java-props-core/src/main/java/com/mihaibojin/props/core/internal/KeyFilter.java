@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.internal;
+
+import java.util.Collection;
+
+/**
+ * Compact bloom filter over a set of keys, which can determine that a key is definitely not
+ * present, using a few bit probes.
+ *
+ * <p>All of a key's probes are located in the same 64-bit word (a blocked bloom filter), allowing
+ * each lookup to be answered with a single memory access.
+ *
+ * <p>Keys cannot be removed; a filter which contains stale keys only reports more false positives,
+ * and can be rebuilt once {@link #isSaturated()} returns true.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class KeyFilter {
+
+  private static final int BITS_PER_KEY = 10;
+  private static final int PROBES = 4;
+  private static final int MIN_CAPACITY = 64;
+
+  private final long[] words;
+  private final int wordMask;
+  private final int capacity;
+  private int count;
+
+  /** Constructs an empty filter, sized for the specified number of keys. */
+  public KeyFilter(int expectedKeys) {
+    capacity = Math.max(expectedKeys, MIN_CAPACITY);
+
+    // round the number of words up to a power of two, allowing them to be selected with a mask
+    int wordCount = Integer.highestOneBit((capacity * BITS_PER_KEY - 1) >>> 6) << 1;
+    words = new long[wordCount];
+    wordMask = wordCount - 1;
+  }
+
+  /** Constructs a filter containing all the specified keys. */
+  public static KeyFilter of(Collection<String> keys) {
+    KeyFilter filter = new KeyFilter(keys.size());
+    for (String key : keys) {
+      filter.add(key);
+    }
+    return filter;
+  }
+
+  /** Adds the specified key to the filter. */
+  public void add(String key) {
+    long hash = mix(key.hashCode());
+    words[(int) hash & wordMask] |= probes(hash);
+    count++;
+  }
+
+  /**
+   * Returns <code>false</code> if the specified key was definitely never added to this filter, or
+   * <code>true</code> if it might have been.
+   */
+  public boolean mightContain(String key) {
+    long hash = mix(key.hashCode());
+    long probes = probes(hash);
+    return (words[(int) hash & wordMask] & probes) == probes;
+  }
+
+  /**
+   * Returns <code>true</code> if more keys were added than the filter was sized for, in which case
+   * its false positive rate degrades and it should be rebuilt.
+   */
+  public boolean isSaturated() {
+    return count > capacity;
+  }
+
+  /** Selects {@link #PROBES} bits within a word, using the hash's upper bits. */
+  private static long probes(long hash) {
+    long probes = 0;
+    for (int i = 0; i < PROBES; i++) {
+      probes |= 1L << (hash >>> (32 + i * 6));
+    }
+    return probes;
+  }
+
+  /** Spreads a 32-bit hash code into 64 well-distributed bits. */
+  private static long mix(int hashCode) {
+    long z = hashCode * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 32)) * 0xBF58476D1CE4E5B9L;
+    return z ^ (z >>> 29);
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A template which was parsed once into a sequence of literal segments and token references, and
+ * which can be rendered in a single pass.
+ *
+ * <p>Tokens are identified according to the rules of {@link
+ * TemplateStringUtils#parseTokens(String)}; all other characters (including escape characters) are
+ * rendered verbatim.
+ *
+ * <p>Instances are immutable and thread-safe.
+ */
+public final class Template {
+
+  private final String raw;
+  // the template consists of literals[0], tokens[references[0]], literals[1], ...
+  private final String[] literals;
+  private final int[] references;
+  private final List<String> tokens;
+  private final int literalsLength;
+
+  private Template(String raw, String[] literals, int[] references, List<String> tokens) {
+    this.raw = raw;
+    this.literals = literals;
+    this.references = references;
+    this.tokens = tokens;
+
+    int length = 0;
+    for (String literal : literals) {
+      length += literal.length();
+    }
+    this.literalsLength = length;
+  }
+
+  /** Parses the specified template. */
+  public static Template compile(String template) {
+    List<String> literals = new ArrayList<>();
+    List<String> tokens = new ArrayList<>();
+    int[] references = new int[8];
+    int count = 0;
+
+    int literalStart = 0;
+    int tokenStart = -1;
+    for (int i = 0; i < template.length(); i++) {
+      char c = template.charAt(i);
+      boolean isEscaped = i > 0 && template.charAt(i - 1) == '\\';
+
+      // found a '{', mark token start
+      if (c == '{' && !isEscaped) {
+        tokenStart = i + 1;
+        continue;
+      }
+
+      // if we've found a '{' and we've also found an unescaped '}', reference the token
+      if (c == '}' && !isEscaped && tokenStart >= 0) {
+        String token = template.substring(tokenStart, i);
+        int index = tokens.indexOf(token);
+        if (index < 0) {
+          index = tokens.size();
+          tokens.add(token);
+        }
+
+        literals.add(template.substring(literalStart, tokenStart - 1));
+        if (count == references.length) {
+          references = Arrays.copyOf(references, count * 2);
+        }
+        references[count++] = index;
+
+        literalStart = i + 1;
+        tokenStart = -1;
+        continue;
+      }
+
+      // only certain characters are allowed to form tokens
+      if (tokenStart >= 0 && !isIdentifierChar(c)) {
+        tokenStart = -1;
+      }
+    }
+    literals.add(template.substring(literalStart));
+
+    return new Template(
+        template,
+        literals.toArray(new String[0]),
+        Arrays.copyOf(references, count),
+        Collections.unmodifiableList(tokens));
+  }
+
+  /** Returns the unique tokens referenced by this template, in order of their first occurrence. */
+  public List<String> tokens() {
+    return tokens;
+  }
+
+  /** Returns true if this template was compiled from the specified value. */
+  public boolean isCompiledFrom(String template) {
+    // templates are usually retrieved from the same (unchanged) snapshot, making equality cheap
+    return raw == template || raw.equals(template);
+  }
+
+  /**
+   * Renders the template, replacing each token with its value.
+   *
+   * <p>The values of all tokens are retrieved first, allowing the result to be built in a buffer
+   * which is allocated only once. Each token's value is retrieved once, regardless of how many
+   * times it is referenced.
+   *
+   * @param values returns the value of the specified token
+   */
+  public String render(Function<String, String> values) {
+    if (references.length == 0) {
+      return raw;
+    }
+
+    String[] rendered = new String[tokens.size()];
+    int length = literalsLength;
+    for (int i = 0; i < rendered.length; i++) {
+      rendered[i] = values.apply(tokens.get(i));
+    }
+    for (int reference : references) {
+      length += rendered[reference].length();
+    }
+
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < references.length; i++) {
+      sb.append(literals[i]).append(rendered[references[i]]);
+    }
+    return sb.append(literals[references.length]).toString();
+  }
+
+  /** Shorthand method for deciding which characters are allowed as "valid" token identifiers. */
+  private static boolean isIdentifierChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-';
+  }
+
+  @Override
+  public String toString() {
+    return raw;
+  }
+}
@@ -28,53 +28,6 @@ public class TemplateStringUtils {
    * the '\' character, e.g.: "I am not a \{token}; neither am I a {token\}".
    */
   public static Set<String> parseTokens(String template) {
-    char[] allChars = template.toCharArray();
-
-    Set<String> tokens = new HashSet<>();
-    boolean found = false;
-    int start = -1;
-    int end;
-
-    // if the string starts with an escape (\), skip the first token
-    int startingPosition = 1;
-    if (allChars[0] == '\\') {
-      startingPosition = 2;
-    } else if (allChars[0] == '{') {
-      // found a '{', mark token start
-      start = 1;
-      found = true;
-    }
-
-    // iterate through all of the template's chars and find all valid tokens
-    for (int i = startingPosition; i < allChars.length; i++) {
-      // found a '{', mark token start
-      if (allChars[i] == '{' && allChars[i - 1] != '\\') {
-        start = i + 1;
-        found = true;
-        continue;
-      }
-
-      // if we've found a '{' and we've also found an uncommented '}', create a token
-      if (allChars[i] == '}' && allChars[i - 1] != '\\' && found) {
-        end = i - start;
-        String key = new String(allChars, start, end);
-        tokens.add(key);
-        found = false;
-        start = -1;
-      }
-
-      // only certain characters are allowed to form tokens
-      if (found && !isIdentifierChar(allChars[i])) {
-        found = false;
-        start = -1;
-      }
-    }
-
-    return tokens;
-  }
-
-  /** Shorthand method for deciding which characters are allowed as "valid" token identifiers. */
-  private static boolean isIdentifierChar(char c) {
-    return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-';
+    return new HashSet<>(Template.compile(template).tokens());
   }
 }
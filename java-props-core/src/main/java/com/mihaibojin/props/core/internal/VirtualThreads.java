@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.internal;
+
+import static java.util.logging.Level.FINE;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * Provides access to virtual threads (JDK 21+), while allowing the library to be compiled for and
+ * run on older JDKs.
+ */
+public class VirtualThreads {
+
+  private static final Logger log = Logger.getLogger(VirtualThreads.class.getName());
+
+  @Nullable private static final Method NEW_EXECUTOR = findFactoryMethod();
+
+  private VirtualThreads() {}
+
+  /** Looks up <code>Executors.newVirtualThreadPerTaskExecutor()</code>, if available. */
+  @Nullable
+  private static Method findFactoryMethod() {
+    try {
+      return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /** Returns <code>true</code> if the current JVM supports virtual threads. */
+  public static boolean isSupported() {
+    return NEW_EXECUTOR != null;
+  }
+
+  /**
+   * Creates an executor which starts a new virtual thread for each task, or returns <code>null
+   * </code> if virtual threads are not supported by the current JVM.
+   */
+  @Nullable
+  public static ExecutorService newExecutor() {
+    Method factory = NEW_EXECUTOR;
+    if (factory == null) {
+      return null;
+    }
+
+    try {
+      return (ExecutorService) factory.invoke(null);
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      log.log(FINE, e, () -> "Could not create a virtual thread executor");
+      return null;
+    }
+  }
+}
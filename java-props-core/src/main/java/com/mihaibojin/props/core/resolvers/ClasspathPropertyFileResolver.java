@@ -22,8 +22,6 @@ import static java.util.Objects.isNull;
 import com.mihaibojin.props.core.annotations.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -32,7 +30,9 @@ public class ClasspathPropertyFileResolver implements Resolver {
 
   private static final Logger log = Logger.getLogger(ClasspathPropertyFileResolver.class.getName());
 
-  private final Map<String, String> store = new HashMap<>();
+  // replaced by reloads, and read without locking by the registry and by application threads
+  //  deepcode ignore AvoidUsingVolatile: immutable tables are published with a single write
+  private volatile PropertyTable store = PropertyTable.EMPTY;
   private final String location;
   private final boolean isReloadable;
 
@@ -52,6 +52,11 @@ public class ClasspathPropertyFileResolver implements Resolver {
     return store.get(key);
   }
 
+  @Override
+  public Set<String> keys() {
+    return store.keys();
+  }
+
   @Override
   public Set<String> reload() {
     try (InputStream stream = getClass().getResourceAsStream(location)) {
@@ -60,7 +65,13 @@ public class ClasspathPropertyFileResolver implements Resolver {
         return Set.of();
       }
 
-      return ResolverUtils.mergeMapsInPlace(store, ResolverUtils.loadPropertiesFromStream(stream));
+      PropertyTable.Builder builder = new PropertyTable.Builder();
+      PropertiesParser.parse(stream, builder);
+
+      PropertyTable updated = builder.build();
+      Set<String> changed = updated.changedSince(store);
+      store = updated;
+      return changed;
     } catch (IOException | IllegalArgumentException e) {
       log.log(
           Level.SEVERE, e, () -> format("Could not read properties from classpath: %s", location));
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.SEVERE;
+import static java.util.logging.Level.WARNING;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Resolves properties from a directory which contains one file per key (e.g., a Kubernetes
+ * ConfigMap or Secret, mounted as a volume); each file's name is the key, and its contents (read as
+ * UTF-8, without a single trailing line break) are the value. Hidden files and sub-directories are
+ * ignored, and files which are not valid UTF-8 (e.g., binary keystores) are skipped.
+ *
+ * <p>Projected volumes are updated atomically, by writing all files into a new directory and then
+ * replacing a <code>..data</code> symbolic link, which points to it. If the directory contains such
+ * a link, reloads only read its target, and only re-read the files after the link changes.
+ * Otherwise, only the files whose attributes changed are re-read.
+ */
+public class DirectoryResolver implements Resolver {
+
+  /** The symbolic link which points to the current version of a projected volume. */
+  static final String DATA_LINK = "..data";
+
+  private static final Logger log = Logger.getLogger(DirectoryResolver.class.getName());
+
+  private final Path directory;
+  private final boolean isReloadable;
+  // replaced by reloads, and read without locking by the registry and by application threads
+  //  deepcode ignore AvoidUsingVolatile: immutable tables are published with a single write
+  private volatile PropertyTable store = PropertyTable.EMPTY;
+  // the last target of the data link; only accessed by (serialized) reloads
+  @Nullable private Path lastTarget;
+  // the state of each file when it was last read, if the directory has no data link
+  private Map<Path, FileProbe> lastProbes = new HashMap<>();
+
+  /** Constructs a {@link Resolver} which should only read the directory once. */
+  public DirectoryResolver(Path directory) {
+    this(directory, false);
+  }
+
+  public DirectoryResolver(Path directory, boolean isReloadable) {
+    this.directory = directory;
+    this.isReloadable = isReloadable;
+  }
+
+  @Override
+  public boolean isReloadable() {
+    return isReloadable;
+  }
+
+  @Override
+  @Nullable
+  public String get(String key) {
+    return store.get(key);
+  }
+
+  @Override
+  public Set<String> keys() {
+    return store.keys();
+  }
+
+  /** Reloads the directory, if it changed since it was last read. */
+  @Override
+  public Set<String> reload() {
+    try {
+      if (!Files.isDirectory(directory)) {
+        log.fine(() -> format("Skipping %s; directory not found at %s", id(), directory));
+        return Set.of();
+      }
+
+      PropertyTable updated;
+      Path dataLink = directory.resolve(DATA_LINK);
+      if (Files.isSymbolicLink(dataLink)) {
+        // a single readlink determines if the volume was updated
+        Path target = Files.readSymbolicLink(dataLink);
+        if (target.equals(lastTarget)) {
+          return Set.of();
+        }
+
+        updated = readAll(directory.resolve(target));
+        lastTarget = target;
+        lastProbes = new HashMap<>();
+      } else {
+        updated = readChanged();
+      }
+
+      Set<String> changed = updated.changedSince(store);
+      store = updated;
+      return changed;
+
+    } catch (NoSuchFileException e) {
+      // the volume was updated while it was being read; retry on the next reload
+      log.log(FINE, e, () -> format("Deferring reload; %s changed while being read", directory));
+    } catch (IOException | RuntimeException e) {
+      log.log(SEVERE, e, () -> format("Could not read configuration from %s", directory));
+    }
+
+    return Set.of();
+  }
+
+  /** Reads all the files in the specified directory (e.g., the current version of a volume). */
+  private PropertyTable readAll(Path data) throws IOException {
+    PropertyTable.Builder builder = new PropertyTable.Builder();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(data, DirectoryResolver::isKey)) {
+      for (Path file : files) {
+        String value = read(file);
+        if (!isNull(value)) {
+          builder.accept(file.getFileName().toString(), value);
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  /** Reads all files whose attributes changed since they were last read. */
+  private PropertyTable readChanged() throws IOException {
+    PropertyTable.Builder builder = new PropertyTable.Builder();
+    Map<Path, FileProbe> probes = new HashMap<>();
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, DirectoryResolver::isKey)) {
+      for (Path file : files) {
+        FileProbe probe = FileProbe.of(file);
+        if (isNull(probe)) {
+          // deleted since it was listed
+          continue;
+        }
+
+        // unchanged files which were previously skipped are not in the store, and remain skipped
+        String key = file.getFileName().toString();
+        String value = probe.isUnchangedSince(lastProbes.get(file)) ? store.get(key) : read(file);
+        if (!isNull(value)) {
+          builder.accept(key, value);
+        }
+        probes.put(file, probe);
+      }
+    }
+
+    lastProbes = probes;
+    return builder.build();
+  }
+
+  /** Returns true if the path is a file which defines a key. */
+  private static boolean isKey(Path path) {
+    return !path.getFileName().toString().startsWith(".") && Files.isRegularFile(path);
+  }
+
+  /**
+   * Reads a file's contents, without a single trailing line break.
+   *
+   * @return the file's contents, or <code>null</code> if they are not valid UTF-8
+   */
+  @Nullable
+  private static String read(Path file) throws IOException {
+    String value;
+    try {
+      value = Files.readString(file, StandardCharsets.UTF_8);
+    } catch (CharacterCodingException e) {
+      // e.g., a binary Secret, such as a keystore
+      log.log(WARNING, e, () -> format("Skipping %s; its contents are not valid UTF-8", file));
+      return null;
+    }
+
+    if (value.endsWith("\r\n")) {
+      return value.substring(0, value.length() - 2);
+    } else if (value.endsWith("\n")) {
+      return value.substring(0, value.length() - 1);
+    }
+    return value;
+  }
+
+  @Override
+  public String id() {
+    return directory.toString();
+  }
+}
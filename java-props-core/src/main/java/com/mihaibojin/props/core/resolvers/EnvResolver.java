@@ -17,6 +17,7 @@
 package com.mihaibojin.props.core.resolvers;
 
 import com.mihaibojin.props.core.annotations.Nullable;
+import java.util.Set;
 
 /** Loads values defined in the environment. */
 public class EnvResolver extends ReadOnlyResolver {
@@ -27,6 +28,12 @@ public class EnvResolver extends ReadOnlyResolver {
     return System.getenv(key);
   }
 
+  /** The environment is fixed for the lifetime of the process, and can be safely enumerated. */
+  @Override
+  public Set<String> keys() {
+    return System.getenv().keySet();
+  }
+
   @Override
   public String id() {
     return "ENV";
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static java.util.Objects.isNull;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * A snapshot of a file's attributes (last-modified time, size, and file key, e.g., the inode),
+ * retrieved with a single <code>stat</code> call, and optionally a hash of its contents.
+ *
+ * <p>Comparing probes allows skipping files which have not changed, without reading them.
+ */
+final class FileProbe {
+
+  /**
+   * File systems may only record modification times with a coarse granularity (up to 2 seconds), in
+   * which case a file modified shortly after being probed could have the same attributes. A probe
+   * is only trusted if it was taken after this window elapsed.
+   */
+  static final long RACY_WINDOW_MILLIS = 2_000;
+
+  private static final long NO_HASH = -1;
+
+  private final long modifiedMillis;
+  private final long size;
+  @Nullable private final Object fileKey;
+  private final long probedAtMillis;
+  private final long hash;
+
+  private FileProbe(
+      long modifiedMillis, long size, @Nullable Object fileKey, long probedAtMillis, long hash) {
+    this.modifiedMillis = modifiedMillis;
+    this.size = size;
+    this.fileKey = fileKey;
+    this.probedAtMillis = probedAtMillis;
+    this.hash = hash;
+  }
+
+  /**
+   * Probes the specified file.
+   *
+   * @return the file's current attributes, or <code>null</code> if the file does not exist
+   * @throws IOException if the file's attributes cannot be read
+   */
+  @Nullable
+  static FileProbe of(Path location) throws IOException {
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(location, BasicFileAttributes.class);
+      return new FileProbe(
+          attributes.lastModifiedTime().to(TimeUnit.MILLISECONDS),
+          attributes.size(),
+          attributes.fileKey(),
+          System.currentTimeMillis(),
+          NO_HASH);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  /** Returns a copy of this probe, which also records the hash of the specified file contents. */
+  FileProbe withHash(byte[] contents) {
+    CRC32C crc = new CRC32C();
+    crc.update(contents);
+    return new FileProbe(modifiedMillis, size, fileKey, probedAtMillis, crc.getValue());
+  }
+
+  /** Returns true if both probes recorded the same (non-empty) content hash. */
+  boolean hasSameHash(@Nullable FileProbe other) {
+    return !isNull(other) && hash != NO_HASH && hash == other.hash;
+  }
+
+  /** Returns true if the file's attributes are identical in both probes. */
+  boolean hasSameAttributes(@Nullable FileProbe other) {
+    return !isNull(other)
+        && modifiedMillis == other.modifiedMillis
+        && size == other.size
+        && Objects.equals(fileKey, other.fileKey);
+  }
+
+  /**
+   * Returns true if the file was replaced (e.g., by renaming another file over it) since the <code>
+   * previous</code> probe, rather than modified in place; returns false if the file system does not
+   * provide file keys.
+   */
+  boolean isReplacementOf(@Nullable FileProbe previous) {
+    return previous != null
+        && fileKey != null
+        && previous.fileKey != null
+        && !fileKey.equals(previous.fileKey);
+  }
+
+  /**
+   * Returns true if the file was certainly not modified since the <code>previous</code> probe,
+   * i.e., its attributes are identical, and the previous probe was taken after the file's last
+   * modification time was no longer ambiguous.
+   */
+  boolean isUnchangedSince(@Nullable FileProbe previous) {
+    return previous != null
+        && hasSameAttributes(previous)
+        && previous.probedAtMillis - previous.modifiedMillis > RACY_WINDOW_MILLIS;
+  }
+
+  /** Returns true if the file was modified within the specified period, before it was probed. */
+  boolean isModifiedWithin(long periodMillis) {
+    return periodMillis > 0 && probedAtMillis - modifiedMillis < periodMillis;
+  }
+
+  /**
+   * Returns the time left, as of the probe, until the file will not have been modified for the
+   * specified period, or 0 if it already has not.
+   */
+  long millisUntilUnmodifiedFor(long periodMillis) {
+    return Math.max(0, periodMillis - (probedAtMillis - modifiedMillis));
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "FileProbe{modified=%d, size=%d, fileKey=%s}", modifiedMillis, size, fileKey);
+  }
+}
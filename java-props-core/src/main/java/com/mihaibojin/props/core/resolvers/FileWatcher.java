@@ -0,0 +1,266 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Objects.isNull;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.SEVERE;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Watches files for changes, using a single {@link WatchService} (and daemon thread) for the whole
+ * JVM, which is started when the first file is watched and stopped when all watches are closed.
+ *
+ * <p>Files are watched by registering their parent directories, which allows detecting files which
+ * are replaced (e.g., by editors which write a temporary file and rename it). Notifications are
+ * debounced: each watch is notified once its file has not changed for the configured period.
+ */
+final class FileWatcher {
+
+  private static final Logger log = Logger.getLogger(FileWatcher.class.getName());
+  private static final FileWatcher SHARED = new FileWatcher();
+
+  // guarded by this
+  @Nullable private WatchService watchService;
+  @Nullable private ScheduledThreadPoolExecutor debouncer;
+  private final Map<Path, WatchKey> keys = new HashMap<>();
+  private final Map<Path, List<Watch>> watches = new HashMap<>();
+
+  private FileWatcher() {}
+
+  /** Returns the watcher shared by the whole JVM. */
+  static FileWatcher shared() {
+    return SHARED;
+  }
+
+  /**
+   * Starts watching the specified file.
+   *
+   * @param debounce the period for which the file must not change, before notifying
+   * @param onChange called (on the watcher's thread) after the file has changed
+   * @throws IOException if the file's directory cannot be watched
+   */
+  synchronized Watch watch(Path file, Duration debounce, Runnable onChange) throws IOException {
+    Path absolute = file.toAbsolutePath().normalize();
+    Path directory = absolute.getParent();
+    if (isNull(directory)) {
+      throw new IOException(format("Cannot watch %s, since it has no parent directory", file));
+    }
+
+    WatchService service = watchService;
+    if (isNull(service)) {
+      service = directory.getFileSystem().newWatchService();
+      startWatchThread(service);
+      watchService = service;
+      debouncer = new ScheduledThreadPoolExecutor(1, FileWatcher::newDaemonThread);
+      debouncer.setRemoveOnCancelPolicy(true);
+    }
+
+    if (!keys.containsKey(directory)) {
+      try {
+        keys.put(directory, directory.register(service, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE));
+      } catch (IOException | RuntimeException e) {
+        stopIfUnused();
+        throw e;
+      }
+    }
+
+    Watch watch = new Watch(directory, absolute.getFileName(), debounce, onChange);
+    watches.computeIfAbsent(directory, ignored -> new ArrayList<>()).add(watch);
+    return watch;
+  }
+
+  /** Stops watching a file, and stops the watcher if no other files are watched. */
+  private synchronized void cancel(Watch watch) {
+    List<Watch> current = watches.get(watch.directory);
+    if (isNull(current) || !current.remove(watch)) {
+      return;
+    }
+
+    ScheduledFuture<?> pending = watch.pending;
+    if (!isNull(pending)) {
+      pending.cancel(false);
+    }
+
+    if (current.isEmpty()) {
+      watches.remove(watch.directory);
+      WatchKey key = keys.remove(watch.directory);
+      if (!isNull(key)) {
+        key.cancel();
+      }
+    }
+    stopIfUnused();
+  }
+
+  /** Closes the watch service and stops all threads, if no files are being watched. */
+  private void stopIfUnused() {
+    if (!watches.isEmpty()) {
+      return;
+    }
+
+    WatchService service = watchService;
+    if (!isNull(service)) {
+      try {
+        service.close();
+      } catch (IOException e) {
+        log.log(FINE, e, () -> "Could not close the watch service");
+      }
+      watchService = null;
+    }
+
+    ScheduledExecutorService current = debouncer;
+    if (!isNull(current)) {
+      current.shutdown();
+      debouncer = null;
+    }
+  }
+
+  /** Starts a thread which dispatches the events of the specified service, until it is closed. */
+  private void startWatchThread(WatchService service) {
+    Thread thread =
+        newDaemonThread(
+            () -> {
+              while (true) {
+                WatchKey key;
+                try {
+                  key = service.take();
+                } catch (InterruptedException | ClosedWatchServiceException e) {
+                  return;
+                }
+
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                  // if events were lost, notify all watches in the directory
+                  notifyWatches(
+                      directory, event.kind() == OVERFLOW ? null : (Path) event.context());
+                }
+                key.reset();
+              }
+            });
+    thread.setName("props-file-watcher");
+    thread.start();
+  }
+
+  /** Notifies the watches of the specified file, or of all files in the directory. */
+  private synchronized void notifyWatches(Path directory, @Nullable Path fileName) {
+    ScheduledExecutorService current = debouncer;
+    if (isNull(current)) {
+      return;
+    }
+
+    for (Watch watch : watches.getOrDefault(directory, List.of())) {
+      if (isNull(fileName) || fileName.equals(watch.fileName)) {
+        watch.trigger(current);
+      }
+    }
+  }
+
+  private static Thread newDaemonThread(Runnable runnable) {
+    Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  /** A watched file; closing it stops watching the file. */
+  final class Watch implements AutoCloseable {
+    private final Path directory;
+    private final Path fileName;
+    private final Duration debounce;
+    private final Runnable onChange;
+    // the pending notification, guarded by FileWatcher.this
+    @Nullable private ScheduledFuture<?> pending;
+
+    private Watch(Path directory, Path fileName, Duration debounce, Runnable onChange) {
+      this.directory = directory;
+      this.fileName = fileName;
+      this.debounce = debounce;
+      this.onChange = onChange;
+    }
+
+    /** (Re)starts the debounce period, after which the watch is notified. */
+    private void trigger(ScheduledExecutorService debouncer) {
+      ScheduledFuture<?> current = pending;
+      if (!isNull(current)) {
+        current.cancel(false);
+      }
+      pending = debouncer.schedule(this::fire, debounce.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Notifies the watch after the specified delay, even if the file does not change again (e.g.,
+     * to retry processing a change which was deferred), unless a later notification is pending.
+     */
+    void notifyAfter(Duration delay) {
+      synchronized (FileWatcher.this) {
+        ScheduledExecutorService current = debouncer;
+        if (isNull(current) || !watches.getOrDefault(directory, List.of()).contains(this)) {
+          // the watch was closed
+          return;
+        }
+
+        ScheduledFuture<?> scheduled = pending;
+        if (!isNull(scheduled)) {
+          if (scheduled.getDelay(TimeUnit.NANOSECONDS) >= delay.toNanos()) {
+            return;
+          }
+          scheduled.cancel(false);
+        }
+        pending = current.schedule(this::fire, delay.toNanos(), TimeUnit.NANOSECONDS);
+      }
+    }
+
+    private void fire() {
+      synchronized (FileWatcher.this) {
+        pending = null;
+      }
+
+      try {
+        onChange.run();
+      } catch (RuntimeException e) {
+        log.log(SEVERE, e, () -> format("Could not notify changes to %s", fileName));
+      }
+    }
+
+    @Override
+    public void close() {
+      cancel(this);
+    }
+  }
+}
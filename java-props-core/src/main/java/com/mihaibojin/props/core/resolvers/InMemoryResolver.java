@@ -17,6 +17,7 @@
 package com.mihaibojin.props.core.resolvers;
 
 import com.mihaibojin.props.core.annotations.Nullable;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -42,6 +43,11 @@ public class InMemoryResolver implements Resolver {
     return store.get(key);
   }
 
+  @Override
+  public Set<String> keys() {
+    return Collections.unmodifiableSet(store.keySet());
+  }
+
   @Override
   public boolean isReloadable() {
     return true;
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.SEVERE;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Resolves properties from a (potentially very large) <code>.properties</code> file, which is
+ * memory-mapped and indexed, instead of being loaded into memory.
+ *
+ * <p>Values are only decoded when requested, and cached until the file is reloaded; memory usage
+ * therefore depends on the number of keys which are read, rather than on the size of the file. The
+ * file is read as ISO 8859-1, as {@link java.util.Properties#load(java.io.InputStream)} does.
+ *
+ * <p>Since the resolver cannot enumerate its keys without decoding them, it is not merged into the
+ * registry's snapshot, and is queried whenever a value is read (see {@link Resolver#keys()}).
+ *
+ * <p>Reloadable files should be updated atomically (e.g., by writing a new file and renaming it
+ * over the existing one), since a mapped file which is modified in place may be observed while it
+ * is partially written. Once a file is found to have been modified in place, it is no longer
+ * mapped; instead, its contents are copied into memory whenever it changes, until it is replaced.
+ */
+public class MappedPropertyFileResolver implements Resolver {
+
+  private static final Logger log = Logger.getLogger(MappedPropertyFileResolver.class.getName());
+
+  private final Path location;
+  private final boolean isReloadable;
+  //  deepcode ignore AvoidUsingVolatile: replaced by reloads and read without locking
+  @Nullable private volatile Mapping mapping;
+  // the state of the file when it was last mapped; only accessed by (serialized) reloads
+  @Nullable private FileProbe lastProbe;
+
+  /** Constructs a {@link Resolver} which should only read the properties file once. */
+  public MappedPropertyFileResolver(Path location) {
+    this(location, false);
+  }
+
+  public MappedPropertyFileResolver(Path location, boolean isReloadable) {
+    this.location = location;
+    this.isReloadable = isReloadable;
+  }
+
+  @Override
+  public boolean isReloadable() {
+    return isReloadable;
+  }
+
+  @Override
+  @Nullable
+  public String get(String key) {
+    Mapping current = mapping;
+    if (isNull(current)) {
+      return null;
+    }
+
+    String value = current.values.get(key);
+    if (!isNull(value)) {
+      return value;
+    }
+
+    int entry = current.index.find(key);
+    if (entry < 0) {
+      current.missing.add(key);
+      return null;
+    }
+
+    value = current.index.value(entry);
+    current.values.put(key, value);
+    return value;
+  }
+
+  /**
+   * Maps and indexes the file, if it changed since it was last read.
+   *
+   * <p>If the file was replaced, it is compared to the previously mapped file, and only the keys
+   * whose values changed are returned. If it was modified in place, it is copied into memory (since
+   * its mapping can no longer be relied upon); the first time this happens, the previous contents
+   * cannot be compared, and only the keys which were previously read are returned.
+   *
+   * @return the keys whose values changed; when the file is first read, all keys are returned, but
+   *     they are only decoded if the returned set is iterated
+   */
+  @Override
+  public Set<String> reload() {
+    try {
+      FileProbe probe = FileProbe.of(location);
+      if (isNull(probe)) {
+        if (log.isLoggable(FINE)) {
+          log.fine(
+              () ->
+                  format(
+                      "Skipping %s; file not found at %s", getClass().getSimpleName(), location));
+        }
+        return Set.of();
+      }
+
+      if (probe.isUnchangedSince(lastProbe)) {
+        return Set.of();
+      }
+
+      Mapping previous = mapping;
+      boolean isCopied = false;
+      if (!isNull(previous) && !probe.isReplacementOf(lastProbe)) {
+        boolean hasSameAttributes = probe.hasSameAttributes(lastProbe);
+        if (hasSameAttributes && !previous.isCopied) {
+          // the file was only re-probed since its modification time was ambiguous; the existing
+          // mapping already reflects its contents
+          lastProbe = probe;
+          return Set.of();
+        }
+
+        // a file which was modified in place could be modified again while mapped
+        isCopied = previous.isCopied || !hasSameAttributes;
+      }
+      PropertyIndex index = PropertyIndex.build(read(isCopied));
+
+      if (!probe.hasSameAttributes(FileProbe.of(location))) {
+        log.fine(() -> format("Deferring reload; %s was modified while being indexed", location));
+        return Set.of();
+      }
+
+      mapping = new Mapping(index, isCopied);
+      lastProbe = probe;
+
+      if (isNull(previous)) {
+        return index.changedSince(null);
+      }
+
+      if (isCopied && !previous.isCopied) {
+        log.warning(
+            () ->
+                format(
+                    "%s was modified in place, and will be copied into memory instead of mapped;"
+                        + " replace the file atomically to avoid reading partially written values",
+                    location));
+        // the previous mapping reflects the file's new contents (or is no longer valid, if the file
+        // shrank), and cannot be compared; only report the keys which were read from it
+        return previous.readKeys();
+      }
+
+      return index.changedSince(previous.index);
+
+    } catch (IOException | IllegalArgumentException e) {
+      log.log(SEVERE, e, () -> format("Could not read configuration from %s", location));
+    }
+
+    return Set.of();
+  }
+
+  /** Maps the file, or copies its contents into memory. */
+  private ByteBuffer read(boolean isCopied) throws IOException {
+    try (FileChannel channel = FileChannel.open(location, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException(format("%s is too large to be mapped (%d bytes)", location, size));
+      }
+
+      if (!isCopied) {
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      }
+
+      ByteBuffer buffer = ByteBuffer.allocate((int) size);
+      // read until the buffer is full, or until the file ends (if it was truncated meanwhile)
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          break;
+        }
+      }
+      return buffer.flip();
+    }
+  }
+
+  @Override
+  public String id() {
+    return location.toString();
+  }
+
+  /** A mapped (or copied) file's index, and the keys read from it so far. */
+  private static final class Mapping {
+    private final PropertyIndex index;
+    private final boolean isCopied;
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    private Mapping(PropertyIndex index, boolean isCopied) {
+      this.index = index;
+      this.isCopied = isCopied;
+    }
+
+    /** Returns all keys which were read, including any which were not defined. */
+    private Set<String> readKeys() {
+      Set<String> keys = new HashSet<>(values.keySet());
+      keys.addAll(missing);
+      return keys;
+    }
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static com.mihaibojin.props.core.resolvers.PropertiesSyntax.isLineBreak;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Parses <code>.properties</code> files (in ISO 8859-1) with the same semantics as {@link
+ * java.util.Properties#load(InputStream)}, but emits each key/value pair as it is read, instead of
+ * collecting them into a {@link java.util.Properties} object.
+ *
+ * <p>Pairs are emitted in the order in which they appear; if a key is defined multiple times, all
+ * definitions are emitted, and the last one should win.
+ */
+final class PropertiesParser {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private PropertiesParser() {}
+
+  /**
+   * Parses the specified stream, passing each key and value to the <code>sink</code>.
+   *
+   * <p>The stream is read in blocks, and the complete logical lines read so far are parsed before
+   * the next block is read.
+   *
+   * @throws IOException if the stream cannot be read
+   * @throws IllegalArgumentException if the stream contains a malformed <code>\\uxxxx</code> escape
+   *     sequence
+   */
+  static void parse(InputStream stream, BiConsumer<String, String> sink) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    int length = 0;
+    while (true) {
+      if (length == buffer.length) {
+        buffer = Arrays.copyOf(buffer, length * 2);
+      }
+
+      int read = stream.read(buffer, length, buffer.length - length);
+      if (read < 0) {
+        parse(buffer, 0, length, sink);
+        return;
+      }
+
+      int end = lastLineStart(buffer, length, length + read);
+      length += read;
+      if (end > 0) {
+        parse(buffer, 0, end, sink);
+        System.arraycopy(buffer, end, buffer, 0, length - end);
+        length -= end;
+      }
+    }
+  }
+
+  /**
+   * Parses the specified range of the contents, passing each key and value to the <code>sink
+   * </code>.
+   *
+   * @throws IllegalArgumentException if the range contains a malformed <code>\\uxxxx</code> escape
+   *     sequence
+   */
+  static void parse(byte[] contents, int from, int to, BiConsumer<String, String> sink) {
+    PropertiesSyntax syntax =
+        new PropertiesSyntax(ByteBuffer.wrap(contents, from, to - from).slice());
+    syntax.scan(
+        (keyStart, keyEnd, valueStart, valueEnd) ->
+            sink.accept(syntax.decode(keyStart, keyEnd), syntax.decode(valueStart, valueEnd)));
+  }
+
+  /**
+   * Splits the contents into (at most) the specified number of chunks of similar sizes, which can
+   * be parsed independently, since each chunk starts on a new logical line.
+   *
+   * @return the chunks' boundaries, i.e., chunk <code>i</code> spans from <code>boundaries[i]
+   *     </code> (inclusive) to <code>boundaries[i+1]</code> (exclusive)
+   */
+  static int[] split(byte[] contents, int chunks) {
+    int[] boundaries = new int[chunks + 1];
+    int count = 1;
+    for (int i = 1; i < chunks; i++) {
+      int target = (int) ((long) contents.length * i / chunks);
+      int boundary = nextLineStart(contents, Math.max(target, boundaries[count - 1]));
+      if (boundary > boundaries[count - 1] && boundary < contents.length) {
+        boundaries[count++] = boundary;
+      }
+    }
+    boundaries[count++] = contents.length;
+    return Arrays.copyOf(boundaries, count);
+  }
+
+  /**
+   * Returns the position following the first line break at or after <code>from</code> which
+   * certainly ends a logical line.
+   */
+  private static int nextLineStart(byte[] contents, int from) {
+    for (int i = from; i < contents.length; i++) {
+      if (endsLine(contents, i)) {
+        return contents[i] == '\r' && i + 1 < contents.length && contents[i + 1] == '\n'
+            ? i + 2
+            : i + 1;
+      }
+    }
+    return contents.length;
+  }
+
+  /**
+   * Returns the position following the last line break in <code>[from, to)</code> which certainly
+   * ends a logical line, or zero if there is none.
+   */
+  private static int lastLineStart(byte[] contents, int from, int to) {
+    for (int i = to - 1; i >= from; i--) {
+      if (endsLine(contents, i)) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Returns true if the specified position holds a line break which is not preceded by an odd
+   * number of backslashes, and therefore ends a logical line.
+   */
+  private static boolean endsLine(byte[] contents, int i) {
+    int c = contents[i];
+    if (!isLineBreak(c)) {
+      return false;
+    }
+
+    // \r\n line breaks are escaped by the backslashes preceding the \r
+    int lineEnd = c == '\n' && i > 0 && contents[i - 1] == '\r' ? i - 1 : i;
+    int backslashes = 0;
+    while (lineEnd - backslashes > 0 && contents[lineEnd - backslashes - 1] == '\\') {
+      backslashes++;
+    }
+    return backslashes % 2 == 0;
+  }
+}
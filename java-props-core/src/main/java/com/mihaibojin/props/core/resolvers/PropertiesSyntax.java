@@ -0,0 +1,289 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Splits the contents of a <code>.properties</code> file (in ISO 8859-1) into keys and values, and
+ * decodes them, with the same semantics as {@link java.util.Properties#load(java.io.InputStream)}.
+ *
+ * <p>Keys and values are located as byte ranges of the underlying buffer, which still contain any
+ * escape sequences and line continuations; these are only processed when a range is decoded. This
+ * allows {@link PropertyIndex} to defer decoding until a key is requested, while {@link
+ * PropertiesParser} decodes each pair as soon as it is found.
+ */
+final class PropertiesSyntax {
+
+  private final ByteBuffer buffer;
+  private final int limit;
+
+  /** Reads the buffer's contents, from index zero up to its limit. */
+  PropertiesSyntax(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.limit = buffer.limit();
+  }
+
+  /** Receives the (undecoded) byte ranges of a key and its value. */
+  @FunctionalInterface
+  interface RangeSink {
+    void accept(int keyStart, int keyEnd, int valueStart, int valueEnd);
+  }
+
+  /**
+   * Passes the ranges of all keys and values to the <code>sink</code>, in the order in which they
+   * appear; if a key is defined multiple times, all definitions are passed, and the last one should
+   * win.
+   */
+  void scan(RangeSink sink) {
+    int pos = 0;
+    while (pos < limit) {
+      int c = byteAt(pos);
+      if (isWhitespace(c) || isLineBreak(c)) {
+        // skip blank lines and leading whitespace
+        pos++;
+      } else if (c == '\\' && pos + 2 < limit && isLineBreak(byteAt(pos + 1))) {
+        // lines which only consist of continuations are also blank, unless they end the file
+        pos = skipContinuation(pos);
+      } else if (c == '#' || c == '!') {
+        pos = skipComment(pos);
+      } else {
+        pos = scanLine(pos, sink);
+      }
+    }
+  }
+
+  /** Returns the decoded characters of the specified range. */
+  Chars chars(int start, int end) {
+    return new Chars(start, end);
+  }
+
+  /**
+   * Converts the specified range to a string, processing any escape sequences and continuations.
+   *
+   * @throws IllegalArgumentException if a malformed <code>\\uxxxx</code> sequence is found
+   */
+  String decode(int start, int end) {
+    int firstEscape = start;
+    while (firstEscape < end && byteAt(firstEscape) != '\\') {
+      firstEscape++;
+    }
+    if (firstEscape == end && buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + start, end - start, ISO_8859_1);
+    }
+
+    StringBuilder sb = new StringBuilder(end - start);
+    Chars chars = new Chars(start, end);
+    for (int c = chars.next(); c >= 0; c = chars.next()) {
+      sb.append((char) c);
+    }
+    return sb.toString();
+  }
+
+  /** Returns true if both ranges decode to the same characters. */
+  static boolean equals(Chars left, Chars right) {
+    while (true) {
+      int c = left.next();
+      if (c != right.next()) {
+        return false;
+      } else if (c < 0) {
+        return true;
+      }
+    }
+  }
+
+  static boolean isWhitespace(int c) {
+    return c == ' ' || c == '\t' || c == '\f';
+  }
+
+  static boolean isLineBreak(int c) {
+    return c == '\n' || c == '\r';
+  }
+
+  /** Skips a comment line, up to (but excluding) its line break. */
+  private int skipComment(int pos) {
+    while (pos < limit && !isLineBreak(byteAt(pos))) {
+      pos++;
+    }
+    return pos;
+  }
+
+  /**
+   * Scans the logical line (which may span multiple lines, via continuations) starting at the
+   * specified position, splitting it into a key and a value as {@link java.util.Properties} does.
+   *
+   * @return the position of the line break ending the logical line
+   */
+  private int scanLine(int pos, RangeSink sink) {
+    // the key ends at the first unescaped separator or whitespace
+    final int keyStart = pos;
+    int keyEnd = -1;
+    boolean hasSeparator = false;
+    boolean escaped = false;
+    while (pos < limit) {
+      int c = byteAt(pos);
+      if (isLineBreak(c)) {
+        break;
+      } else if (c == '\\' && !escaped && isContinuation(pos)) {
+        pos = skipContinuation(pos);
+        continue;
+      } else if (!escaped && (c == '=' || c == ':')) {
+        keyEnd = pos++;
+        hasSeparator = true;
+        break;
+      } else if (!escaped && isWhitespace(c)) {
+        keyEnd = pos++;
+        break;
+      }
+
+      escaped = c == '\\' && !escaped;
+      pos++;
+    }
+    if (keyEnd < 0) {
+      keyEnd = pos;
+    }
+
+    // skip any whitespace, and a single separator, before the value
+    while (pos < limit) {
+      int c = byteAt(pos);
+      if (c == '\\' && isContinuation(pos)) {
+        pos = skipContinuation(pos);
+      } else if (isWhitespace(c)) {
+        pos++;
+      } else if (!hasSeparator && (c == '=' || c == ':')) {
+        hasSeparator = true;
+        pos++;
+      } else {
+        break;
+      }
+    }
+
+    // the value ends at the first line break which is not escaped
+    int valueStart = pos;
+    escaped = false;
+    while (pos < limit) {
+      int c = byteAt(pos);
+      if (isLineBreak(c)) {
+        break;
+      } else if (c == '\\' && !escaped && isContinuation(pos)) {
+        pos = skipContinuation(pos);
+        continue;
+      }
+
+      escaped = c == '\\' && !escaped;
+      pos++;
+    }
+
+    sink.accept(keyStart, keyEnd, valueStart, pos);
+    return pos;
+  }
+
+  private int byteAt(int pos) {
+    return buffer.get(pos) & 0xff;
+  }
+
+  /** Returns true if the backslash at the specified position ends the line. */
+  private boolean isContinuation(int pos) {
+    return pos + 1 >= limit || isLineBreak(byteAt(pos + 1));
+  }
+
+  /**
+   * Skips a line continuation (a backslash and the following line break), and the next line's
+   * leading whitespace; a backslash at the end of the file is ignored.
+   */
+  private int skipContinuation(int pos) {
+    pos++;
+    if (pos < limit && byteAt(pos) == '\r') {
+      pos++;
+    }
+    if (pos < limit && byteAt(pos) == '\n') {
+      pos++;
+    }
+    while (pos < limit && isWhitespace(byteAt(pos))) {
+      pos++;
+    }
+    return pos;
+  }
+
+  /** Decodes the characters in a range of the buffer, one at a time. */
+  final class Chars {
+    private int pos;
+    private final int end;
+
+    private Chars(int start, int end) {
+      this.pos = start;
+      this.end = end;
+    }
+
+    /**
+     * Returns the next decoded character, or a negative value if the range was consumed.
+     *
+     * @throws IllegalArgumentException if a malformed <code>\\uxxxx</code> sequence is found
+     */
+    int next() {
+      while (pos < end) {
+        int c = byteAt(pos);
+        if (c != '\\') {
+          pos++;
+          return c;
+        }
+
+        if (isContinuation(pos)) {
+          pos = skipContinuation(pos);
+          continue;
+        }
+
+        int escaped = byteAt(pos + 1);
+        pos += 2;
+        switch (escaped) {
+          case 't':
+            return '\t';
+          case 'r':
+            return '\r';
+          case 'n':
+            return '\n';
+          case 'f':
+            return '\f';
+          case 'u':
+            return unicode();
+          default:
+            return escaped;
+        }
+      }
+      return -1;
+    }
+
+    /** Decodes the four hex digits of a unicode escape sequence. */
+    private int unicode() {
+      int value = 0;
+      for (int i = 0; i < 4; i++) {
+        while (pos < end && byteAt(pos) == '\\' && isContinuation(pos)) {
+          pos = skipContinuation(pos);
+        }
+
+        int digit = pos < end ? Character.digit(byteAt(pos++), 16) : -1;
+        if (digit < 0) {
+          throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+        }
+        value = (value << 4) | digit;
+      }
+      return value;
+    }
+  }
+}
@@ -17,26 +17,39 @@
 package com.mihaibojin.props.core.resolvers;
 
 import static java.lang.String.format;
+import static java.util.Objects.isNull;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.SEVERE;
 
 import com.mihaibojin.props.core.annotations.Nullable;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 public class PropertyFileResolver implements Resolver {
 
   private static final Logger log = Logger.getLogger(PropertyFileResolver.class.getName());
+  // files are only split into chunks of at least this size, when parsed in parallel
+  private static final int MIN_CHUNK_BYTES = 1 << 20;
 
-  private final Map<String, String> store = new HashMap<>();
+  // replaced by reloads, and read without locking by the registry and by application threads
+  //  deepcode ignore AvoidUsingVolatile: immutable tables are published with a single write
+  private volatile PropertyTable store = PropertyTable.EMPTY;
   private final Path location;
   private final boolean isReloadable;
+  private Duration quietPeriod = Duration.ZERO;
+  private boolean verifyContents;
+  private int parallelism = 1;
+  @Nullable private Executor parallelExecutor;
+  @Nullable private Duration watchDebounce;
+  // guarded by this
+  @Nullable private FileWatcher.Watch watch;
+  // the state of the file when it was last read; only accessed by (serialized) reloads
+  @Nullable private FileProbe lastProbe;
 
   /** Constructs a {@link Resolver} which should only read the properties file once. */
   public PropertyFileResolver(Path location) {
@@ -59,19 +72,150 @@ public class PropertyFileResolver implements Resolver {
     return store.get(key);
   }
 
+  @Override
+  public Set<String> keys() {
+    return store.keys();
+  }
+
+  /**
+   * Defers reloading files which were modified less than the specified period ago, to avoid reading
+   * files which are still being written.
+   *
+   * <p>defaults to {@link Duration#ZERO}, i.e., files are read as soon as they change
+   */
+  public PropertyFileResolver quietPeriod(Duration quietPeriod) {
+    this.quietPeriod = quietPeriod;
+    return this;
+  }
+
+  /**
+   * If enabled, the resolver hashes the file's contents and skips parsing files which were touched,
+   * but whose contents did not change.
+   *
+   * <p>defaults to <code>false</code>
+   */
+  public PropertyFileResolver verifyContents(boolean verifyContents) {
+    this.verifyContents = verifyContents;
+    return this;
+  }
+
+  /**
+   * Parses large files in chunks (of at least 1MB), on up to the specified number of threads; the
+   * calling thread parses the first chunk, and the others are parsed on the specified <code>
+   * executor
+   * </code>.
+   *
+   * <p>Since the reloading thread waits for the other chunks to be parsed, the executor should not
+   * be the registry's refresh executor, unless it is unbounded (e.g., it uses virtual threads).
+   *
+   * <p>defaults to <code>1</code>, i.e., files are parsed on the reloading thread
+   */
+  public PropertyFileResolver parallelism(int parallelism, Executor executor) {
+    this.parallelism = parallelism;
+    this.parallelExecutor = executor;
+    return this;
+  }
+
+  /**
+   * If enabled, the resolver watches the file's directory for changes and requests a reload as soon
+   * as the file has not changed for the specified period, instead of waiting for its next periodic
+   * reload; this also detects files which are replaced by renaming another file over them.
+   *
+   * <p>If the file was modified within the {@link #quietPeriod(Duration)}, the reload is retried
+   * once the quiet period elapses. Periodic reloads continue to be scheduled, in case changes are
+   * not reported (e.g., on network file systems). Only applies to reloadable resolvers.
+   *
+   * <p>defaults to <code>null</code>, i.e., the file is not watched
+   */
+  public PropertyFileResolver watchChanges(@Nullable Duration debounce) {
+    this.watchDebounce = debounce;
+    return this;
+  }
+
+  @Override
+  public synchronized void startWatching(Runnable onChange) {
+    Duration debounce = watchDebounce;
+    if (isNull(debounce) || !isNull(watch)) {
+      return;
+    }
+
+    try {
+      watch = FileWatcher.shared().watch(location, debounce, onChange);
+    } catch (IOException | RuntimeException e) {
+      log.log(
+          FINE,
+          e,
+          () -> format("Could not watch %s; relying on periodic reloads instead", location));
+    }
+  }
+
+  @Override
+  public synchronized void stopWatching() {
+    FileWatcher.Watch current = watch;
+    if (!isNull(current)) {
+      current.close();
+      watch = null;
+    }
+  }
+
+  /**
+   * Reloads the file, if it changed since it was last read.
+   *
+   * <p>The file's attributes (last-modified time, size, and file key) are probed first, and the
+   * file is only read if any of them changed. If the file is modified while it is being read, the
+   * reload is deferred until the next refresh, since the file may be partially written.
+   */
   @Override
   public Set<String> reload() {
-    if (!Files.exists(location)) {
-      if (log.isLoggable(FINE)) {
-        log.fine(
-            () ->
-                format("Skipping %s; file not found at %s", getClass().getSimpleName(), location));
+    try {
+      FileProbe probe = FileProbe.of(location);
+      if (isNull(probe)) {
+        if (log.isLoggable(FINE)) {
+          log.fine(
+              () ->
+                  format(
+                      "Skipping %s; file not found at %s", getClass().getSimpleName(), location));
+        }
+        return Set.of();
+      }
+
+      if (probe.isUnchangedSince(lastProbe)) {
+        return Set.of();
+      }
+
+      if (probe.isModifiedWithin(quietPeriod.toMillis())) {
+        log.fine(() -> format("Deferring reload; %s was modified recently", location));
+        retryWhenQuiet(probe);
+        return Set.of();
+      }
+
+      byte[] contents = Files.readAllBytes(location);
+      if (!probe.hasSameAttributes(FileProbe.of(location))) {
+        log.fine(() -> format("Deferring reload; %s was modified while being read", location));
+        return Set.of();
       }
-      return Set.of();
-    }
 
-    try (InputStream stream = Files.newInputStream(location)) {
-      return ResolverUtils.mergeMapsInPlace(store, ResolverUtils.loadPropertiesFromStream(stream));
+      if (verifyContents) {
+        probe = probe.withHash(contents);
+        if (probe.hasSameHash(lastProbe)) {
+          lastProbe = probe;
+          return Set.of();
+        }
+      }
+
+      PropertyTable.Builder builder = new PropertyTable.Builder();
+      int chunks = Math.min(parallelism, contents.length / MIN_CHUNK_BYTES);
+      if (chunks > 1 && !isNull(parallelExecutor)) {
+        ResolverUtils.parseInParallel(contents, chunks, parallelExecutor, builder);
+      } else {
+        PropertiesParser.parse(contents, 0, contents.length, builder);
+      }
+
+      PropertyTable updated = builder.build();
+      Set<String> changed = updated.changedSince(store);
+      store = updated;
+      lastProbe = probe;
+      return changed;
 
     } catch (IOException | IllegalArgumentException e) {
       log.log(SEVERE, e, () -> format("Could not read configuration from %s", location));
@@ -80,6 +224,22 @@ public class PropertyFileResolver implements Resolver {
     return Set.of();
   }
 
+  /**
+   * If the file is watched, requests another reload once the quiet period has elapsed, since the
+   * watch will not be notified again unless the file changes.
+   */
+  private void retryWhenQuiet(FileProbe probe) {
+    FileWatcher.Watch current;
+    synchronized (this) {
+      current = watch;
+    }
+
+    if (!isNull(current)) {
+      current.notifyAfter(
+          Duration.ofMillis(probe.millisUntilUnmodifiedFor(quietPeriod.toMillis())));
+    }
+  }
+
   @Override
   public String id() {
     return location.toString();
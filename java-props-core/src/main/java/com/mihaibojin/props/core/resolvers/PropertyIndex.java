@@ -0,0 +1,274 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static java.util.Objects.isNull;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.nio.ByteBuffer;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An index over the contents of a <code>.properties</code> file (in ISO 8859-1, as read by {@link
+ * java.util.Properties#load(java.io.InputStream)}), which records where each key and value is
+ * located in the file, without decoding them.
+ *
+ * <p>Each entry takes five <code>int</code>s (the key's hash, and the byte ranges of the key and
+ * value), and entries are found via an open-addressing hash table. Keys and values are only decoded
+ * (i.e., escape sequences and line continuations are processed) when requested, by {@link
+ * PropertiesSyntax}.
+ */
+final class PropertyIndex {
+
+  private static final int KEY_HASH = 0;
+  private static final int KEY_START = 1;
+  private static final int KEY_END = 2;
+  private static final int VALUE_START = 3;
+  private static final int VALUE_END = 4;
+  private static final int FIELDS = 5;
+  private static final int NOT_FOUND = -1;
+
+  private final PropertiesSyntax syntax;
+  private int[] entries = new int[16 * FIELDS];
+  private int size;
+  private int[] table = newTable(32);
+
+  private PropertyIndex(ByteBuffer buffer) {
+    this.syntax = new PropertiesSyntax(buffer);
+  }
+
+  /**
+   * Indexes all the properties defined in the specified buffer; the buffer must not be modified
+   * afterwards, as keys and values are read from it on demand.
+   *
+   * @throws IllegalArgumentException if the buffer contains a malformed <code>\\uxxxx</code> escape
+   *     sequence
+   */
+  static PropertyIndex build(ByteBuffer buffer) {
+    PropertyIndex index = new PropertyIndex(buffer);
+    index.syntax.scan(index::add);
+    return index;
+  }
+
+  /** Returns the number of indexed properties. */
+  int size() {
+    return size;
+  }
+
+  /** Returns the entry of the specified key, or a negative value if the key is not defined. */
+  int find(String key) {
+    int mask = table.length - 1;
+    for (int slot = spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == NOT_FOUND) {
+        return NOT_FOUND;
+      }
+
+      if (field(entry, KEY_HASH) == key.hashCode() && keyEquals(entry, key)) {
+        return entry;
+      }
+    }
+  }
+
+  /** Returns the decoded key of the specified entry. */
+  String key(int entry) {
+    return syntax.decode(field(entry, KEY_START), field(entry, KEY_END));
+  }
+
+  /** Returns the decoded value of the specified entry. */
+  String value(int entry) {
+    return syntax.decode(field(entry, VALUE_START), field(entry, VALUE_END));
+  }
+
+  /**
+   * Returns the keys whose values differ from the <code>previous</code> index, including keys which
+   * were removed; if no previous index is specified, returns all keys, which are only decoded when
+   * iterated.
+   */
+  Set<String> changedSince(@Nullable PropertyIndex previous) {
+    if (isNull(previous)) {
+      return new Keys();
+    }
+
+    Set<String> changed = new HashSet<>();
+    for (int entry = 0; entry < size; entry++) {
+      int other = previous.findSameKey(this, entry);
+      if (other == NOT_FOUND
+          || !PropertiesSyntax.equals(
+              syntax.chars(field(entry, VALUE_START), field(entry, VALUE_END)),
+              previous.syntax.chars(
+                  previous.field(other, VALUE_START), previous.field(other, VALUE_END)))) {
+        changed.add(key(entry));
+      }
+    }
+
+    for (int entry = 0; entry < previous.size; entry++) {
+      if (findSameKey(previous, entry) == NOT_FOUND) {
+        changed.add(previous.key(entry));
+      }
+    }
+
+    return changed;
+  }
+
+  /** Finds the entry with the same key as an entry from another index. */
+  private int findSameKey(PropertyIndex other, int otherEntry) {
+    int hash = other.field(otherEntry, KEY_HASH);
+    int mask = table.length - 1;
+    for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == NOT_FOUND) {
+        return NOT_FOUND;
+      }
+
+      if (field(entry, KEY_HASH) == hash
+          && PropertiesSyntax.equals(
+              syntax.chars(field(entry, KEY_START), field(entry, KEY_END)),
+              other.syntax.chars(
+                  other.field(otherEntry, KEY_START), other.field(otherEntry, KEY_END)))) {
+        return entry;
+      }
+    }
+  }
+
+  /**
+   * Adds an entry to the index, replacing any previous entry for the same key, since the last
+   * occurrence of a key wins.
+   */
+  private void add(int keyStart, int keyEnd, int valueStart, int valueEnd) {
+    // validate the value's escape sequences eagerly, as Properties#load would
+    PropertiesSyntax.Chars value = syntax.chars(valueStart, valueEnd);
+    while (value.next() >= 0) {
+      // consume all characters
+    }
+
+    int hash = 0;
+    PropertiesSyntax.Chars key = syntax.chars(keyStart, keyEnd);
+    for (int c = key.next(); c >= 0; c = key.next()) {
+      hash = 31 * hash + c;
+    }
+
+    int mask = table.length - 1;
+    int slot = spread(hash) & mask;
+    for (int entry = table[slot]; entry != NOT_FOUND; entry = table[slot]) {
+      if (field(entry, KEY_HASH) == hash
+          && PropertiesSyntax.equals(
+              syntax.chars(field(entry, KEY_START), field(entry, KEY_END)),
+              syntax.chars(keyStart, keyEnd))) {
+        set(entry, hash, keyStart, keyEnd, valueStart, valueEnd);
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if ((size + 1) * FIELDS > entries.length) {
+      entries = Arrays.copyOf(entries, entries.length * 2);
+    }
+    set(size, hash, keyStart, keyEnd, valueStart, valueEnd);
+    table[slot] = size++;
+
+    // keep the table at most half full
+    if (size * 2 > table.length) {
+      rehash(table.length * 2);
+    }
+  }
+
+  private void rehash(int capacity) {
+    table = newTable(capacity);
+    int mask = capacity - 1;
+    for (int entry = 0; entry < size; entry++) {
+      int slot = spread(field(entry, KEY_HASH)) & mask;
+      while (table[slot] != NOT_FOUND) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = entry;
+    }
+  }
+
+  private void set(int entry, int hash, int keyStart, int keyEnd, int valueStart, int valueEnd) {
+    int offset = entry * FIELDS;
+    entries[offset + KEY_HASH] = hash;
+    entries[offset + KEY_START] = keyStart;
+    entries[offset + KEY_END] = keyEnd;
+    entries[offset + VALUE_START] = valueStart;
+    entries[offset + VALUE_END] = valueEnd;
+  }
+
+  private int field(int entry, int field) {
+    return entries[entry * FIELDS + field];
+  }
+
+  private boolean keyEquals(int entry, String key) {
+    PropertiesSyntax.Chars chars = syntax.chars(field(entry, KEY_START), field(entry, KEY_END));
+    for (int i = 0; i < key.length(); i++) {
+      if (chars.next() != key.charAt(i)) {
+        return false;
+      }
+    }
+    return chars.next() < 0;
+  }
+
+  private static int[] newTable(int capacity) {
+    int[] table = new int[capacity];
+    Arrays.fill(table, NOT_FOUND);
+    return table;
+  }
+
+  /** Spreads the hash's higher bits, since the table is indexed by its lower bits. */
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  /** A view of all the keys in the index, which are decoded as they are iterated. */
+  private final class Keys extends AbstractSet<String> {
+
+    @Override
+    public Iterator<String> iterator() {
+      return new Iterator<>() {
+        private int entry;
+
+        @Override
+        public boolean hasNext() {
+          return entry < size;
+        }
+
+        @Override
+        public String next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return key(entry++);
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof String && find((String) o) != NOT_FOUND;
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import com.mihaibojin.props.core.annotations.Nullable;
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable map of properties, optimized for lookups: keys and values are stored in an
+ * open-addressing hash table (with linear probing), which is at most half full.
+ *
+ * <p>Tables are built once, and then published to readers, which never observe partial updates.
+ *
+ * <p>Each value is fingerprinted (with a 64-bit hash) when the table is built, which allows diffing
+ * tables without comparing most changed values; since different values could have the same
+ * fingerprint, values whose fingerprints match are still compared.
+ */
+final class PropertyTable {
+
+  static final PropertyTable EMPTY = new Builder().build();
+
+  private final int[] hashes;
+  private final String[] keys;
+  private final String[] values;
+  private final long[] fingerprints;
+  private final int size;
+
+  private PropertyTable(int[] hashes, String[] keys, String[] values, int size) {
+    this.hashes = hashes;
+    this.keys = keys;
+    this.values = values;
+    this.size = size;
+
+    fingerprints = new long[keys.length];
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != null) {
+        fingerprints[slot] = fingerprint(values[slot]);
+      }
+    }
+  }
+
+  /** Returns the value of the specified key, or <code>null</code> if it is not defined. */
+  @Nullable
+  String get(String key) {
+    int slot = slot(key, key.hashCode());
+    return slot < 0 ? null : values[slot];
+  }
+
+  /** Returns the slot which holds the specified key, or <code>-1</code>. */
+  private int slot(String key, int hash) {
+    int mask = keys.length - 1;
+    for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+      String candidate = keys[slot];
+      if (candidate == null) {
+        return -1;
+      } else if (hashes[slot] == hash && candidate.equals(key)) {
+        return slot;
+      }
+    }
+  }
+
+  /** Returns the number of properties. */
+  int size() {
+    return size;
+  }
+
+  /** Returns an unmodifiable view of all keys. */
+  Set<String> keys() {
+    return new Keys();
+  }
+
+  /**
+   * Returns the keys whose values differ from the <code>previous</code> table, including keys which
+   * were removed.
+   *
+   * <p>Values are only compared if their fingerprints match; otherwise, they are known to differ.
+   */
+  Set<String> changedSince(PropertyTable previous) {
+    Set<String> changed = new HashSet<>();
+    int retained = 0;
+    for (int slot = 0; slot < keys.length; slot++) {
+      String key = keys[slot];
+      if (key == null) {
+        continue;
+      }
+
+      int previousSlot = previous.slot(key, hashes[slot]);
+      if (previousSlot < 0) {
+        changed.add(key);
+        continue;
+      }
+
+      retained++;
+      if (fingerprints[slot] != previous.fingerprints[previousSlot]
+          || !values[slot].equals(previous.values[previousSlot])) {
+        changed.add(key);
+      }
+    }
+
+    // only look for removed keys if any exist
+    if (retained < previous.size) {
+      for (String key : previous.keys) {
+        if (key != null && get(key) == null) {
+          changed.add(key);
+        }
+      }
+    }
+    return changed;
+  }
+
+  /** Computes a 64-bit fingerprint of the specified string (FNV-1a, followed by a final mix). */
+  private static long fingerprint(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  /** Avalanches all bits of the specified hash (MurmurHash3's finalizer). */
+  private static long mix(long hash) {
+    hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+    hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+    return hash ^ (hash >>> 33);
+  }
+
+  /** Spreads the hash's higher bits, since the table is indexed by its lower bits. */
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Builds a {@link PropertyTable}, from key/value pairs; if a key is added multiple times, the
+   * last value wins.
+   */
+  static final class Builder implements BiConsumer<String, String> {
+    private int[] hashes = new int[16];
+    private String[] keys = new String[16];
+    private String[] values = new String[16];
+    private int size;
+
+    @Override
+    public void accept(String key, String value) {
+      int hash = key.hashCode();
+      int mask = keys.length - 1;
+      int slot = spread(hash) & mask;
+      for (String candidate = keys[slot]; candidate != null; candidate = keys[slot]) {
+        if (hashes[slot] == hash && candidate.equals(key)) {
+          values[slot] = value;
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+
+      hashes[slot] = hash;
+      keys[slot] = key;
+      values[slot] = value;
+      if (++size * 2 > keys.length) {
+        resize(keys.length * 2);
+      }
+    }
+
+    /** Returns the table; the builder should not be used afterwards. */
+    PropertyTable build() {
+      return new PropertyTable(hashes, keys, values, size);
+    }
+
+    private void resize(int capacity) {
+      final int[] oldHashes = hashes;
+      final String[] oldKeys = keys;
+      final String[] oldValues = values;
+      hashes = new int[capacity];
+      keys = new String[capacity];
+      values = new String[capacity];
+
+      int mask = capacity - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] == null) {
+          continue;
+        }
+
+        int slot = spread(oldHashes[i]) & mask;
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        hashes[slot] = oldHashes[i];
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /** A view of the table's keys. */
+  private final class Keys extends AbstractSet<String> {
+
+    @Override
+    public Iterator<String> iterator() {
+      return new Iterator<>() {
+        private int slot = advance(0);
+
+        private int advance(int from) {
+          while (from < keys.length && keys[from] == null) {
+            from++;
+          }
+          return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+          return slot < keys.length;
+        }
+
+        @Override
+        public String next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          String key = keys[slot];
+          slot = advance(slot + 1);
+          return key;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o instanceof String && get((String) o) != null;
+    }
+  }
+}
@@ -17,6 +17,10 @@
 package com.mihaibojin.props.core.resolvers;
 
 import com.mihaibojin.props.core.annotations.Nullable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 public interface Resolver {
@@ -30,6 +34,39 @@ public interface Resolver {
   @Nullable
   String get(String key);
 
+  /**
+   * Returns the values of all the specified keys which are defined by this resolver.
+   *
+   * <p>The default implementation calls {@link #get(String)} for each key. Implementations which
+   * can retrieve multiple values more efficiently (e.g., with a single remote call) should override
+   * it.
+   *
+   * @return a {@link Map} containing only the keys which have a value
+   */
+  default Map<String, String> getAll(Collection<String> keys) {
+    Map<String, String> values = new HashMap<>();
+    for (String key : keys) {
+      String value = get(key);
+      if (!Objects.isNull(value)) {
+        values.put(key, value);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Returns all the keys for which this resolver currently holds a value, or <code>null</code> if
+   * the implementation resolves values on demand and cannot enumerate them.
+   *
+   * <p>The values of resolvers which can enumerate their keys are merged into a single snapshot by
+   * {@link com.mihaibojin.props.core.Props}, after each reload. Resolvers which return <code>null
+   * </code> are queried on every read. Implementations should not alternate between the two.
+   */
+  @Nullable
+  default Set<String> keys() {
+    return null;
+  }
+
   /**
    * Reloads all properties managed by the implementing Resolver.
    *
@@ -44,4 +81,17 @@ public interface Resolver {
   default boolean isReloadable() {
     return true;
   }
+
+  /**
+   * Called when the resolver's periodic reloads are scheduled, allowing implementations which can
+   * detect changes as they occur (e.g., by watching a file) to request an immediate reload, by
+   * calling <code>onChange</code>.
+   *
+   * <p>Periodic reloads continue to be scheduled, and act as a fallback if changes are not
+   * detected. The default implementation does nothing.
+   */
+  default void startWatching(Runnable onChange) {}
+
+  /** Called when the resolver's reloads are no longer scheduled; stops any watches. */
+  default void stopWatching() {}
 }
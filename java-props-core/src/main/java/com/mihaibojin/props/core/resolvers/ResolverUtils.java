@@ -20,19 +20,26 @@ import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.logging.Level.SEVERE;
 
+import com.mihaibojin.props.core.annotations.Nullable;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -47,8 +54,8 @@ public class ResolverUtils {
           Pattern.CASE_INSENSITIVE);
 
   /**
-   * Loads a {@link Properties} object from the passed {@link InputStream} and returns a {@link Map}
-   * containing all key->value mappings.
+   * Loads all properties from the passed {@link InputStream}, in the same format as {@link
+   * Properties#load(InputStream)}, and returns a {@link Map} containing all key->value mappings.
    *
    * @throws IllegalArgumentException if a null <code>InputStream</code> was passed
    * @throws IOException if the <code>InputStream</code> cannot be read
@@ -60,21 +67,60 @@ public class ResolverUtils {
           "loadPropertiesFromStream expects a non-null input stream");
     }
 
-    Properties properties = new Properties();
-    properties.load(stream);
-    return readPropertiesToMap(properties);
+    Map<String, String> store = new HashMap<>();
+    PropertiesParser.parse(stream, store::put);
+    return store;
   }
 
   /**
-   * Iterates over all the input {@link Properties} and returns a {@link Map} containing all
-   * key->value mappings.
+   * Splits the contents into chunks (at line boundaries), which are parsed concurrently, and passes
+   * all keys and values to the <code>sink</code>, in the order in which they appear.
+   *
+   * @throws IllegalArgumentException if the contents contain a malformed <code>\\uxxxx</code>
+   *     escape sequence
    */
-  private static Map<String, String> readPropertiesToMap(Properties properties) {
-    Map<String, String> store = new HashMap<>();
-    for (String key : properties.stringPropertyNames()) {
-      store.put(key, properties.getProperty(key));
+  static void parseInParallel(
+      byte[] contents, int parallelism, Executor executor, BiConsumer<String, String> sink) {
+    int[] boundaries = PropertiesParser.split(contents, Math.max(parallelism, 1));
+    List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+    for (int i = 1; i < boundaries.length - 1; i++) {
+      int from = boundaries[i];
+      int to = boundaries[i + 1];
+      chunks.add(CompletableFuture.supplyAsync(() -> parseChunk(contents, from, to), executor));
+    }
+
+    try {
+      applyChunk(parseChunk(contents, 0, boundaries[1]), sink);
+      for (CompletableFuture<List<String>> chunk : chunks) {
+        applyChunk(chunk.join(), sink);
+      }
+    } catch (RuntimeException e) {
+      chunks.forEach(chunk -> chunk.cancel(false));
+      if (e instanceof CompletionException && e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /** Parses a chunk into a list of alternating keys and values. */
+  private static List<String> parseChunk(byte[] contents, int from, int to) {
+    List<String> pairs = new ArrayList<>();
+    PropertiesParser.parse(
+        contents,
+        from,
+        to,
+        (key, value) -> {
+          pairs.add(key);
+          pairs.add(value);
+        });
+    return pairs;
+  }
+
+  private static void applyChunk(List<String> pairs, BiConsumer<String, String> sink) {
+    for (int i = 0; i < pairs.size(); i += 2) {
+      sink.accept(pairs.get(i), pairs.get(i + 1));
     }
-    return store;
   }
 
   /**
@@ -83,45 +129,70 @@ public class ResolverUtils {
    * <li/>- updating any keys whose values have changed in <code>updated</code>
    * <li/>- setting any new keys whose values have been added in <code>updated</code>
    *
+   *     <p>Values are only compared if their hashes match, and the <code>collector</code> is only
+   *     scanned for deleted keys if, after being updated, it holds more keys than those it shares
+   *     with <code>updated</code>.
+   *
    * @return the {@link Set} of new, updated, and deleted keys
    */
   public static Set<String> mergeMapsInPlace(
       Map<String, String> collector, Map<String, String> updated) {
-    var toDel = new HashSet<String>();
+    var changed = new HashSet<String>();
 
-    // if the key doesn't exist in the updated set, mark it for deletion
-    for (Entry<String, String> val : collector.entrySet()) {
-      if (!updated.containsKey(val.getKey())) {
-        toDel.add(val.getKey());
+    // set all new and updated values, counting the updated keys which are in the collector
+    int retained = 0;
+    for (Entry<String, String> newVal : updated.entrySet()) {
+      String value = newVal.getValue();
+      String current = collector.get(newVal.getKey());
+      if (hasChanged(current, value)) {
+        collector.put(newVal.getKey(), value);
+        changed.add(newVal.getKey());
       }
-    }
 
-    // delete all keys which do not appear in the updated list
-    for (String key : toDel) {
-      collector.remove(key);
+      // keys with null values are only in the collector if they were already there
+      if (nonNull(value) || collector.containsKey(newVal.getKey())) {
+        retained++;
+      }
     }
 
-    // set all updated values
-    for (Entry<String, String> newVal : updated.entrySet()) {
-      if (!Objects.equals(collector.get(newVal.getKey()), newVal.getValue())) {
-        collector.put(newVal.getKey(), newVal.getValue());
-        // store each updated key into the same 'toDel' set, to avoid creating a new object
-        toDel.add(newVal.getKey());
+    // any keys in the collector besides the retained keys must be deleted
+    if (collector.size() > retained) {
+      for (Iterator<String> keys = collector.keySet().iterator(); keys.hasNext(); ) {
+        String key = keys.next();
+        if (!updated.containsKey(key)) {
+          keys.remove();
+          changed.add(key);
+        }
       }
     }
 
     // return all deleted, new, and updated keys
-    return toDel;
+    return changed;
+  }
+
+  /** Compares the values' hashes (which strings cache) before comparing their contents. */
+  private static boolean hasChanged(@Nullable String current, @Nullable String value) {
+    if (isNull(current) || isNull(value)) {
+      return current != value;
+    }
+    return current.hashCode() != value.hashCode() || !current.equals(value);
   }
 
   /**
    * Reads all lines from an {@link InputStream} that specifies multiple resolver configurations.
    *
+   * <p>Blank lines, and lines starting with <code>#</code> are ignored.
+   *
    * @return a list of {@link Resolver}s
    */
   public static List<Resolver> readResolverConfig(InputStream stream) {
     try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
-      return reader.lines().map(ResolverUtils::readConfigLine).collect(Collectors.toList());
+      return reader
+          .lines()
+          .map(String::strip)
+          .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+          .map(ResolverUtils::readConfigLine)
+          .collect(Collectors.toList());
 
     } catch (Exception e) {
       log.log(SEVERE, e, () -> "Could not read resolver configuration");
@@ -151,6 +222,8 @@ public class ResolverUtils {
 
     if (Objects.equals(type, "file")) {
       return new PropertyFileResolver(Paths.get(path), reload);
+    } else if (Objects.equals(type, "dir")) {
+      return new DirectoryResolver(Paths.get(path), reload);
     } else if (Objects.equals(type, "classpath")) {
       return new ClasspathPropertyFileResolver(path, reload);
     } else if (Objects.equals(type, "system")) {
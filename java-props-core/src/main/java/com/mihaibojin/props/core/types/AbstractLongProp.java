@@ -16,18 +16,59 @@
 
 package com.mihaibojin.props.core.types;
 
+import static java.lang.String.format;
+import static java.util.Objects.isNull;
+
 import com.mihaibojin.props.core.AbstractProp;
 import com.mihaibojin.props.core.Prop;
+import com.mihaibojin.props.core.ValidationException;
+import com.mihaibojin.props.core.annotations.Nullable;
 import com.mihaibojin.props.core.converters.LongConverter;
+import java.util.function.LongSupplier;
 
 /**
  * Helper class meant to act as a base class when definining a {@link Prop} with the underlying
  * type.
+ *
+ * <p>The prop's effective value can also be read without boxing, via {@link #getAsLong()}.
  */
-public abstract class AbstractLongProp extends AbstractProp<Long> implements LongConverter {
+public abstract class AbstractLongProp extends AbstractProp<Long>
+    implements LongConverter, LongSupplier {
+
+  // unboxed copy of the effective value (the current value, or the default)
+  //  deepcode ignore AvoidUsingVolatile: written on updates, read without locking
+  private volatile long effectiveValue;
 
   protected AbstractLongProp(
       String key, Long defaultValue, String description, boolean isRequired, boolean isSecret) {
     super(key, defaultValue, description, isRequired, isSecret);
+    if (!isNull(defaultValue)) {
+      effectiveValue = defaultValue;
+    }
+  }
+
+  @Override
+  protected void onValueSet(@Nullable Long value) {
+    // if the prop has no effective value, the copy is not read
+    if (!isNull(value)) {
+      effectiveValue = value;
+    }
+  }
+
+  /**
+   * Returns the prop's current value, or its default, without boxing it.
+   *
+   * <p>Unlike {@link #value()}, this method does not call {@link #validateBeforeGet(Object)};
+   * values are still validated when set.
+   *
+   * @throws ValidationException if the prop has neither a value nor a default
+   */
+  @Override
+  public long getAsLong() {
+    // the copy is updated before the value is published, so it is at least as recent
+    if (!hasEffectiveValue()) {
+      throw new ValidationException(format("Prop '%s' has neither a value nor a default", key));
+    }
+    return effectiveValue;
   }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.types;
+
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Immutable, ordered sequence of <code>long</code> values, backed by a primitive array.
+ *
+ * <p>Allows reading list props without boxing each element.
+ */
+public final class LongArray {
+
+  private static final LongArray EMPTY = new LongArray(new long[0]);
+
+  private final long[] values;
+
+  private LongArray(long[] values) {
+    this.values = values;
+  }
+
+  /** Returns an instance containing a copy of the specified values. */
+  public static LongArray of(long... values) {
+    return values.length == 0 ? EMPTY : new LongArray(values.clone());
+  }
+
+  /**
+   * Returns an instance backed by the specified array, without copying it; the caller must not
+   * modify the array afterwards.
+   */
+  public static LongArray wrap(long[] values) {
+    return values.length == 0 ? EMPTY : new LongArray(values);
+  }
+
+  /** Returns the number of values. */
+  public int size() {
+    return values.length;
+  }
+
+  /** Returns <code>true</code> if there are no values. */
+  public boolean isEmpty() {
+    return values.length == 0;
+  }
+
+  /**
+   * Returns the value at the specified index.
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public long get(int index) {
+    return values[index];
+  }
+
+  /** Returns a copy of the values. */
+  public long[] toArray() {
+    return values.clone();
+  }
+
+  /** Returns a sequential stream of the values. */
+  public LongStream stream() {
+    return Arrays.stream(values);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof LongArray)) {
+      return false;
+    }
+    return Arrays.equals(values, ((LongArray) o).values);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(values);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(values);
+  }
+}
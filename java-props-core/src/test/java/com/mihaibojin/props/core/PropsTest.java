@@ -19,16 +19,30 @@ package com.mihaibojin.props.core;
 import static com.mihaibojin.props.core.resolvers.ResolverUtils.readResolverConfig;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
 
 import com.mihaibojin.props.core.converters.Cast;
 import com.mihaibojin.props.core.converters.Converter;
 import com.mihaibojin.props.core.converters.DurationConverter;
 import com.mihaibojin.props.core.resolvers.ClasspathPropertyFileResolver;
 import com.mihaibojin.props.core.resolvers.EnvResolver;
+import com.mihaibojin.props.core.resolvers.InMemoryResolver;
 import com.mihaibojin.props.core.resolvers.SystemPropertyResolver;
 import com.mihaibojin.props.core.types.AbstractStringProp;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class PropsTest {
 
@@ -86,6 +100,484 @@ public class PropsTest {
     assertThat(aValue, equalTo(1));
   }
 
+  @Test
+  public void liveResolverWithHigherPriorityOverridesSnapshot() {
+    // ARRANGE
+    Props props =
+        Props.factory()
+            .withResolver(new ClasspathPropertyFileResolver("/propfiles/config1.properties"))
+            .withResolver(new SystemPropertyResolver())
+            .build();
+
+    // ACT
+    Integer fromSnapshot = props.prop("prop.id", Cast.asInteger()).value();
+    System.setProperty("prop.id", "3");
+    Integer fromSystem;
+    try {
+      fromSystem = props.prop("prop.id", Cast.asInteger()).value();
+    } finally {
+      System.clearProperty("prop.id");
+    }
+
+    // ASSERT
+    assertThat(fromSnapshot, equalTo(1));
+    assertThat(fromSystem, equalTo(3));
+  }
+
+  @Test
+  public void resolveMultipleKeys() {
+    // ARRANGE
+    Props props =
+        Props.factory()
+            .withResolver(new ClasspathPropertyFileResolver("/propfiles/config1.properties"))
+            .withResolver(new ClasspathPropertyFileResolver("/propfiles/config2.properties"))
+            .build();
+
+    // ACT
+    Map<String, Integer> values =
+        props.resolveAll(List.of("prop.id", "missing.prop"), Cast.asInteger(), null);
+    Map<String, Integer> pinnedValues =
+        props.resolveAll(List.of("prop.id"), Cast.asInteger(), "/propfiles/config1.properties");
+
+    // ASSERT
+    assertThat(values, equalTo(Map.of("prop.id", 2)));
+    assertThat(pinnedValues, equalTo(Map.of("prop.id", 1)));
+  }
+
+  @Test
+  public void bindMultipleProps() {
+    // ARRANGE
+    Props props =
+        Props.factory()
+            .withResolver(new ClasspathPropertyFileResolver("/resolver-config/config1.properties"))
+            .withResolver(new ClasspathPropertyFileResolver("/resolver-config/config2.properties"))
+            .build();
+    StringProp prop1 = new StringProp("a.string1");
+    StringProp prop2 = new StringProp("a.string2");
+
+    // ACT
+    props.bindAll(List.of(prop1, prop2));
+
+    // ASSERT
+    assertThat(prop1.value(), equalTo("one"));
+    assertThat(prop2.value(), equalTo("two"));
+    assertThat(props.retrieveProp("a.string2"), equalTo(prop2));
+  }
+
+  @Test
+  public void reloadOnCustomExecutor() {
+    // ARRANGE
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Props props =
+        Props.factory()
+            .withResolver(new ClasspathPropertyFileResolver("/propfiles/config1.properties"))
+            .withResolver(new ClasspathPropertyFileResolver("/propfiles/config2.properties"))
+            .refreshExecutor(executor)
+            .build();
+
+    // ACT
+    Integer aValue;
+    try {
+      aValue = props.prop("prop.id", Cast.asInteger()).value();
+    } finally {
+      executor.shutdown();
+    }
+
+    // ASSERT
+    assertThat(aValue, equalTo(2));
+    assertThat(props.reloadMetrics().reloads(), equalTo(2L));
+    assertThat(props.reloadMetrics().failures(), equalTo(0L));
+    assertThat(props.reloadMetrics().cycles(), equalTo(1L));
+  }
+
+  @Test
+  public void reloadResolverAtItsOwnInterval() throws InterruptedException {
+    // ARRANGE
+    InMemoryResolver resolver = new InMemoryResolver();
+    resolver.set("a.key", "one");
+    Props props =
+        Props.factory()
+            .withResolver(resolver, RefreshPolicy.every(Duration.ofMillis(10)))
+            .refreshInterval(Duration.ofHours(1))
+            .build();
+    Prop<String> prop = props.prop("a.key").build();
+
+    // ACT
+    resolver.set("a.key", "two");
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!"two".equals(prop.value()) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    // ASSERT
+    assertThat(prop.value(), equalTo("two"));
+  }
+
+  @Test
+  public void reRenderTemplatePropWhenATokenChanges() throws Exception {
+    // ARRANGE
+    InMemoryResolver resolver = new InMemoryResolver();
+    resolver.set("db.url", "jdbc:{db.host}/{db.name}");
+    resolver.set("db.host", "primary");
+    resolver.set("db.name", "app");
+    resolver.set("db.pool", "{db.url}?pool=true");
+    Props props =
+        Props.factory()
+            .withResolver(resolver, RefreshPolicy.every(Duration.ofMillis(10)))
+            .refreshInterval(Duration.ofHours(1))
+            .build();
+    TemplateProp pool = props.bind(new TemplateProp("db.pool"));
+    TemplateProp url = props.bind(new TemplateProp("db.url"));
+    CompletableFuture<String> updated = new CompletableFuture<>();
+    pool.onUpdate(updated::complete, e -> {});
+
+    // ACT
+    String initial = pool.value();
+    resolver.set("db.host", "replica");
+    String rendered = updated.get(5, TimeUnit.SECONDS);
+
+    // ASSERT
+    assertThat(initial, equalTo("jdbc:primary/app?pool=true"));
+    assertThat(rendered, equalTo("jdbc:replica/app?pool=true"));
+    assertThat(url.value(), equalTo("jdbc:replica/app"));
+  }
+
+  @Test
+  public void failedTemplateRenderDoesNotBlockOtherUpdates() throws Exception {
+    // ARRANGE
+    InMemoryResolver resolver = new InMemoryResolver();
+    resolver.set("broken", "{required}-{shared}");
+    resolver.set("working", "{shared}");
+    resolver.set("shared", "one");
+    Props props =
+        Props.factory()
+            .withResolver(resolver, RefreshPolicy.every(Duration.ofMillis(10)))
+            .refreshInterval(Duration.ofHours(1))
+            .build();
+    props.prop("required").isRequired(true).build();
+    TemplateProp broken = props.bind(new TemplateProp("broken"));
+    TemplateProp working = props.bind(new TemplateProp("working"));
+    CompletableFuture<Throwable> failed = new CompletableFuture<>();
+    broken.onUpdate(value -> {}, failed::complete);
+
+    // ACT
+    resolver.set("shared", "two");
+    awaitValue(working, "two");
+    Throwable error = failed.get(5, TimeUnit.SECONDS);
+
+    // ASSERT
+    assertThat(working.value(), equalTo("two"));
+    assertThat(broken.value(), nullValue());
+    assertThat(error, instanceOf(ValidationException.class));
+  }
+
+  @Test
+  public void notifySubscribersOnUpdateExecutor() throws Exception {
+    // ARRANGE
+    ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "updates"));
+    InMemoryResolver resolver = new InMemoryResolver();
+    Props props =
+        Props.factory()
+            .withResolver(resolver)
+            .refreshInterval(Duration.ofMillis(10))
+            .updateExecutor(executor)
+            .build();
+    Prop<String> prop = props.prop("a.key").build();
+    CompletableFuture<String> notifiedOn = new CompletableFuture<>();
+    prop.onUpdate(value -> notifiedOn.complete(Thread.currentThread().getName()), e -> {});
+
+    // ACT
+    String threadName;
+    try {
+      resolver.set("a.key", "value");
+      threadName = notifiedOn.get(5, TimeUnit.SECONDS);
+    } finally {
+      executor.shutdown();
+    }
+
+    // ASSERT
+    assertThat(threadName, equalTo("updates"));
+  }
+
+  @Test
+  public void shareResolverBetweenRegistries() throws InterruptedException {
+    // ARRANGE
+    RefreshScheduler scheduler = new RefreshScheduler();
+    InMemoryResolver resolver = new InMemoryResolver();
+    Props props1 =
+        Props.factory()
+            .withResolver(resolver)
+            .refreshInterval(Duration.ofMillis(10))
+            .scheduler(scheduler)
+            .build();
+    Props props2 =
+        Props.factory()
+            .withResolver(resolver)
+            .refreshInterval(Duration.ofMillis(10))
+            .scheduler(scheduler)
+            .build();
+    Prop<String> prop1 = props1.prop("a.key").build();
+    Prop<String> prop2 = props2.prop("a.key").build();
+
+    // ACT
+    try {
+      resolver.set("a.key", "value");
+      long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+      while ((!"value".equals(prop1.value()) || !"value".equals(prop2.value()))
+          && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+    } finally {
+      props1.close();
+      props2.close();
+    }
+
+    // ASSERT
+    assertThat(prop1.value(), equalTo("value"));
+    assertThat(prop2.value(), equalTo("value"));
+  }
+
+  @Test
+  public void sharedResolversAreReloadedWhenAnExecutorRejectsReloads() throws InterruptedException {
+    // ARRANGE
+    RefreshScheduler scheduler = new RefreshScheduler();
+    InMemoryResolver resolver = new InMemoryResolver();
+    ExecutorService rejecting = Executors.newSingleThreadExecutor();
+    Props props1 =
+        Props.factory()
+            .withResolver(resolver)
+            .refreshInterval(Duration.ofMillis(10))
+            .refreshExecutor(rejecting)
+            .scheduler(scheduler)
+            .build();
+    Props props2 =
+        Props.factory()
+            .withResolver(resolver)
+            .refreshInterval(Duration.ofMillis(10))
+            .scheduler(scheduler)
+            .build();
+    Prop<String> prop = props2.prop("a.key").build();
+
+    // ACT
+    try {
+      rejecting.shutdown();
+      resolver.set("a.key", "value");
+      awaitValue(prop, "value");
+    } finally {
+      props1.close();
+      props2.close();
+    }
+
+    // ASSERT
+    assertThat(prop.value(), equalTo("value"));
+  }
+
+  @Test
+  public void sharedResolversAreReloadedAtTheShortestInterval() throws InterruptedException {
+    // ARRANGE
+    RefreshScheduler scheduler = new RefreshScheduler();
+    InMemoryResolver resolver = new InMemoryResolver();
+    Props props1 =
+        Props.factory()
+            .withResolver(resolver)
+            .refreshInterval(Duration.ofHours(1))
+            .scheduler(scheduler)
+            .build();
+    Props props2 =
+        Props.factory()
+            .withResolver(resolver)
+            .refreshInterval(Duration.ofMillis(10))
+            .scheduler(scheduler)
+            .build();
+    Prop<String> prop = props2.prop("a.key").build();
+
+    // ACT
+    try {
+      resolver.set("a.key", "value");
+      awaitValue(prop, "value");
+    } finally {
+      props1.close();
+      props2.close();
+    }
+
+    // ASSERT
+    assertThat(prop.value(), equalTo("value"));
+  }
+
+  @Test
+  public void warmStartFromSavedValuesWhileResolversLoad(@TempDir Path directory)
+      throws InterruptedException {
+    // ARRANGE
+    Path file = directory.resolve("props.snapshot");
+    InMemoryResolver saved = new InMemoryResolver();
+    saved.set("a.key", "one");
+    try (Props props = Props.factory().withResolver(saved).warmStart(file).build()) {
+      props.prop("a.key").build().value();
+    }
+
+    CountDownLatch isLoadAllowed = new CountDownLatch(1);
+    InMemoryResolver resolver =
+        new InMemoryResolver() {
+          @Override
+          public Set<String> reload() {
+            try {
+              isLoadAllowed.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return super.reload();
+          }
+        };
+    resolver.set("a.key", "two");
+
+    // ACT
+    String restored;
+    String loaded;
+    try (Props props = Props.factory().withResolver(resolver).warmStart(file).build()) {
+      Prop<String> prop = props.prop("a.key").build();
+      restored = prop.value();
+
+      isLoadAllowed.countDown();
+      long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+      while (!"two".equals(prop.value()) && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      loaded = prop.value();
+    }
+
+    // ASSERT
+    assertThat(restored, equalTo("one"));
+    assertThat(loaded, equalTo("two"));
+  }
+
+  @Test
+  public void warmStartWaitsForKeysWhichWereNotSaved(@TempDir Path directory) throws Exception {
+    // ARRANGE
+    Path file = directory.resolve("props.snapshot");
+    InMemoryResolver saved = new InMemoryResolver();
+    saved.set("a.key", "one");
+    try (Props props = Props.factory().withResolver(saved).warmStart(file).build()) {
+      props.prop("a.key").build().value();
+    }
+
+    CountDownLatch isLoadAllowed = new CountDownLatch(1);
+    InMemoryResolver resolver =
+        new InMemoryResolver() {
+          @Override
+          public Set<String> reload() {
+            try {
+              isLoadAllowed.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            return super.reload();
+          }
+        };
+    resolver.set("a.key", "two");
+    resolver.set("added.key", "value");
+
+    // ACT
+    String restored;
+    boolean isAddedKeyResolvedEarly;
+    String added;
+    try (Props props = Props.factory().withResolver(resolver).warmStart(file).build()) {
+      restored = props.prop("a.key").value();
+      CompletableFuture<String> addedValue =
+          CompletableFuture.supplyAsync(() -> props.prop("added.key").isRequired(true).value());
+      Thread.sleep(100);
+      isAddedKeyResolvedEarly = addedValue.isDone();
+
+      isLoadAllowed.countDown();
+      added = addedValue.get(5, TimeUnit.SECONDS);
+    }
+
+    // ASSERT
+    assertThat(restored, equalTo("one"));
+    assertThat(isAddedKeyResolvedEarly, equalTo(false));
+    assertThat(added, equalTo("value"));
+  }
+
+  @Test
+  public void warmStartDoesNotSaveSecretsOrUnsavedResolvers(@TempDir Path directory) {
+    // ARRANGE
+    Path file = directory.resolve("props.snapshot");
+    InMemoryResolver env = named("env");
+    env.set("from.env", "value");
+    InMemoryResolver other = named("other");
+    other.set("a.key", "value");
+    other.set("a.password", "secret");
+
+    // ACT
+    try (Props props =
+        Props.factory()
+            .withResolver(env)
+            .withResolver(other)
+            .warmStart(file, Set.of("env"))
+            .build()) {
+      props.prop("a.password").isSecret(true).build().value();
+    }
+    Snapshot saved = SnapshotFile.read(file, List.of("env", "other"));
+
+    // ASSERT
+    assertThat(saved.get("a.key").value, equalTo("value"));
+    assertThat(saved.get("from.env"), nullValue());
+    assertThat(saved.get("a.password"), nullValue());
+  }
+
+  @Test
+  public void decodeOnlyWhenTheWinningValueOrItsSourceChanges() throws InterruptedException {
+    // ARRANGE
+    InMemoryResolver low = named("low");
+    InMemoryResolver high = named("high");
+    low.set("a.key", "1");
+    high.set("other.key", "x");
+    AtomicInteger decodes = new AtomicInteger();
+    Converter<Integer> counting =
+        value -> {
+          decodes.incrementAndGet();
+          return Integer.parseInt(value);
+        };
+    Props props =
+        Props.factory()
+            .withResolver(low)
+            .withResolver(high)
+            .refreshInterval(Duration.ofMillis(10))
+            .build();
+    Prop<Integer> prop = props.prop("a.key", counting).build();
+    Prop<String> lowMarker = props.prop("low.marker").build();
+    int initial = decodes.get();
+
+    // ACT
+    int sourceChanged;
+    int lowerLayerChanged;
+    int valueChanged;
+    try {
+      // the same raw value, provided by a different resolver
+      high.set("a.key", "1");
+      awaitDecodes(decodes, initial + 1);
+      sourceChanged = decodes.get();
+
+      // a lower layer changes, but the winning value and its source stay the same
+      low.set("a.key", "5");
+      low.set("low.marker", "applied");
+      awaitValue(lowMarker, "applied");
+      lowerLayerChanged = decodes.get();
+
+      high.set("a.key", "2");
+      awaitValue(prop, 2);
+      valueChanged = decodes.get();
+    } finally {
+      props.close();
+    }
+
+    // ASSERT
+    assertThat(initial, equalTo(1));
+    assertThat(sourceChanged, equalTo(2));
+    assertThat(lowerLayerChanged, equalTo(2));
+    assertThat(valueChanged, equalTo(3));
+    assertThat(prop.value(), equalTo(2));
+  }
+
   @Test
   public void loadResolverConfig() {
     // ARRANGE
@@ -175,6 +667,39 @@ public class PropsTest {
     assertThat(allKeys, equalTo("My name is Mihai and my age is 999"));
   }
 
+  /** Creates an in-memory resolver identified by the specified id. */
+  private static InMemoryResolver named(String id) {
+    return new InMemoryResolver() {
+      @Override
+      public String id() {
+        return id;
+      }
+    };
+  }
+
+  /** Waits for up to 5 seconds for the specified prop to have the expected value. */
+  private static void awaitValue(Prop<?> prop, Object expected) throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!expected.equals(prop.value()) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  /** Waits for up to 5 seconds for the specified counter to reach the expected value. */
+  private static void awaitDecodes(AtomicInteger decodes, int expected)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (decodes.get() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static class StringProp extends AbstractStringProp {
+    protected StringProp(String key) {
+      super(key, null, null, false, false);
+    }
+  }
+
   /**
    * Defines a custom decoder for the Duration, returning it as a String.
    *
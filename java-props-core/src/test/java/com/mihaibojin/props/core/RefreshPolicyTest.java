@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RefreshPolicyTest {
+
+  @Test
+  public void backOffExponentiallyUpToTheLimit() {
+    // ARRANGE
+    RefreshPolicy policy =
+        RefreshPolicy.every(Duration.ofSeconds(1)).withBackoff(Duration.ofSeconds(10));
+
+    // ACT / ASSERT
+    assertThat(policy.nextDelay(0), equalTo(Duration.ofSeconds(1)));
+    assertThat(policy.nextDelay(1), equalTo(Duration.ofSeconds(2)));
+    assertThat(policy.nextDelay(3), equalTo(Duration.ofSeconds(8)));
+    assertThat(policy.nextDelay(4), equalTo(Duration.ofSeconds(10)));
+    assertThat(policy.nextDelay(100), equalTo(Duration.ofSeconds(10)));
+  }
+
+  @Test
+  public void doNotBackOffIfNotConfigured() {
+    // ARRANGE
+    RefreshPolicy policy = RefreshPolicy.every(Duration.ofSeconds(1));
+
+    // ACT
+    Duration delay = policy.nextDelay(5);
+
+    // ASSERT
+    assertThat(delay, equalTo(Duration.ofSeconds(1)));
+  }
+
+  @Test
+  public void jitterStaysWithinBounds() {
+    // ARRANGE
+    RefreshPolicy policy =
+        RefreshPolicy.every(Duration.ofSeconds(1)).withJitter(Duration.ofMillis(100));
+
+    for (int i = 0; i < 1000; i++) {
+      // ACT
+      Duration delay = policy.nextDelay(0);
+
+      // ASSERT
+      assertThat(delay, greaterThanOrEqualTo(Duration.ofMillis(900)));
+      assertThat(delay, lessThanOrEqualTo(Duration.ofMillis(1100)));
+    }
+  }
+
+  @Test
+  public void rejectInvalidSettings() {
+    // ACT / ASSERT
+    Assertions.assertThrows(
+        IllegalArgumentException.class, () -> RefreshPolicy.every(Duration.ZERO));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> RefreshPolicy.every(Duration.ofSeconds(1)).withBackoff(Duration.ofMillis(1)));
+  }
+}
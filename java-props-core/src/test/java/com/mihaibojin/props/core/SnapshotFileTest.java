@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.mihaibojin.props.core.resolvers.InMemoryResolver;
+import com.mihaibojin.props.core.resolvers.Resolver;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotFileTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void restoreSavedValuesWithTheCurrentRanks() throws IOException {
+    // ARRANGE
+    InMemoryResolver resolver = new InMemoryResolver();
+    resolver.set("a.key", "v\u00e4lue");
+    resolver.set("b.key", "");
+    Snapshot snapshot = Snapshot.build(new Resolver[] {resolver}, Snapshot.EMPTY);
+    Path file = directory.resolve("props.snapshot");
+
+    // ACT
+    SnapshotFile.write(file, snapshot, (key, entry) -> true);
+    Snapshot restored = SnapshotFile.read(file, List.of("OTHER", "MEMORY"));
+    Snapshot withoutResolver = SnapshotFile.read(file, List.of("OTHER"));
+
+    // ASSERT
+    assertThat(restored, notNullValue());
+    assertThat(restored.version, equalTo(snapshot.version));
+    assertThat(restored.size(), equalTo(2));
+    assertThat(restored.get("a.key"), equalTo(new Snapshot.Entry("v\u00e4lue", "MEMORY", 1)));
+    assertThat(restored.get("b.key"), equalTo(new Snapshot.Entry("", "MEMORY", 1)));
+    assertThat(withoutResolver.size(), equalTo(0));
+  }
+
+  @Test
+  void ignoreCorruptedOrMissingFiles() throws IOException {
+    // ARRANGE
+    InMemoryResolver resolver = new InMemoryResolver();
+    resolver.set("a.key", "value");
+    Path file = directory.resolve("props.snapshot");
+    SnapshotFile.write(
+        file, Snapshot.build(new Resolver[] {resolver}, Snapshot.EMPTY), (key, entry) -> true);
+    byte[] contents = Files.readAllBytes(file);
+    contents[contents.length - 1] ^= 1;
+    Path corrupted = Files.write(directory.resolve("corrupted.snapshot"), contents);
+    Path truncated =
+        Files.write(directory.resolve("truncated.snapshot"), new byte[] {0x50, 0x52, 0x50});
+
+    // ACT
+    Snapshot fromCorrupted = SnapshotFile.read(corrupted, List.of("MEMORY"));
+    Snapshot fromTruncated = SnapshotFile.read(truncated, List.of("MEMORY"));
+    Snapshot fromMissing = SnapshotFile.read(directory.resolve("missing"), List.of("MEMORY"));
+
+    // ASSERT
+    assertThat(fromCorrupted, nullValue());
+    assertThat(fromTruncated, nullValue());
+    assertThat(fromMissing, nullValue());
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TemplateDependenciesTest {
+
+  @Test
+  void replaceTokensWhichWereListedMoreThanOnce() {
+    // ARRANGE
+    TemplateDependencies dependencies = new TemplateDependencies();
+    dependencies.update("template", List.of("a.key", "a.key"));
+
+    // ACT
+    dependencies.update("template", List.of("other.key"));
+
+    // ASSERT
+    assertThat(dependencies.affectedBy(List.of("a.key")), empty());
+    assertThat(dependencies.affectedBy(List.of("other.key")), contains("template"));
+  }
+}
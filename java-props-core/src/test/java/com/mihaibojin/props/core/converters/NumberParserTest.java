@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.converters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NumberParserTest {
+
+  @Test
+  void parseIntegers() {
+    // ASSERT
+    assertThat(NumberParser.parseInt(" 42 "), equalTo(42));
+    assertThat(NumberParser.parseInt("+7"), equalTo(7));
+    assertThat(NumberParser.parseInt("-2147483648"), equalTo(Integer.MIN_VALUE));
+    assertThat(NumberParser.parseLong("9223372036854775807"), equalTo(Long.MAX_VALUE));
+    assertThat(NumberParser.parseLong("-9223372036854775808"), equalTo(Long.MIN_VALUE));
+  }
+
+  @Test
+  void parseDecimals() {
+    // ASSERT
+    assertThat(NumberParser.parseDouble("1.5"), equalTo(1.5d));
+    assertThat(NumberParser.parseDouble("-.25e2"), equalTo(-25d));
+    assertThat(NumberParser.parseDouble("0.1"), equalTo(0.1d));
+    assertThat(NumberParser.parseDouble("1.7976931348623157E308"), equalTo(Double.MAX_VALUE));
+    assertThat(NumberParser.parseDouble("-Infinity"), equalTo(Double.NEGATIVE_INFINITY));
+    assertThat(NumberParser.parseDouble("NaN"), equalTo(Double.NaN));
+    assertThat(NumberParser.parseFloat("3.4028235E38"), equalTo(Float.MAX_VALUE));
+    assertThat(NumberParser.parseFloat("0.1"), equalTo(0.1f));
+  }
+
+  @Test
+  void rejectValuesWhichAreNotNumbers() {
+    // ASSERT
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseInt(""));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseInt("-"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseInt("1,000"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseLong("12abc"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseLong("1.0"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseDouble("1e"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseDouble("0x1p3"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseDouble("1d"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseDouble("."));
+  }
+
+  @Test
+  void reportValuesOutOfRange() {
+    // ACT
+    NumberFormatException e =
+        assertThrows(NumberFormatException.class, () -> NumberParser.parseInt("2147483648"));
+
+    // ASSERT
+    assertThat(e.getMessage(), containsString("out of range for an int"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseLong("-9223372036854775809"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseDouble("1e309"));
+    assertThrows(NumberFormatException.class, () -> NumberParser.parseFloat("1e39"));
+  }
+
+  @Test
+  void parseLenientlyOnlyIfRequested() {
+    // ARRANGE
+    LongConverter strict = new LongConverter() {};
+    LongConverter lenient =
+        new LongConverter() {
+          @Override
+          public boolean isLenient() {
+            return true;
+          }
+        };
+
+    // ASSERT
+    assertThat(strict.decode("12abc"), nullValue());
+    assertThat(lenient.decode("12abc"), equalTo(12L));
+    assertThat(Cast.asLenientLong().decode("12abc"), equalTo(12L));
+    assertThat(Cast.asLenientListOfInteger().decode("1abc,2"), equalTo(List.of(1, 2)));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.converters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.Test;
+
+class TimeParserTest {
+
+  @Test
+  void parseCanonicalInstants() {
+    // ARRANGE
+    String[] values = {
+      "2020-01-01T00:00:00Z",
+      "2020-02-29T23:59:59.123Z",
+      "1969-12-31T23:59:59.999999999Z",
+      "0001-03-01T12:00:00+05:30",
+      "9999-12-31T23:59:59-18:00",
+    };
+
+    for (String value : values) {
+      // ACT
+      Instant instant = TimeParser.parseInstant(value);
+
+      // ASSERT
+      assertThat(value, instant, equalTo(OffsetDateTime.parse(value).toInstant()));
+    }
+  }
+
+  @Test
+  void fallBackForOtherInstants() {
+    // ASSERT
+    assertThat(TimeParser.parseInstant("2019-02-29T00:00:00Z"), nullValue());
+    assertThat(TimeParser.parseInstant("2020-01-01T24:00:00Z"), nullValue());
+    assertThat(TimeParser.parseInstant("2020-01-01T00:00:00+18:30"), nullValue());
+    assertThat(TimeParser.parseInstant("2020-01-01t00:00:00z"), nullValue());
+    assertThat(TimeParser.parseInstant("2020-01-01T00:00Z"), nullValue());
+  }
+
+  @Test
+  void parseCanonicalDurations() {
+    // ARRANGE
+    String[] values = {"PT30S", "PT1H30M", "P1DT12H", "-PT0.5S", "P2D", "PT0.000000001S"};
+
+    for (String value : values) {
+      // ACT
+      Duration duration = TimeParser.parseDuration(value);
+
+      // ASSERT
+      assertThat(value, duration, equalTo(Duration.parse(value)));
+    }
+  }
+
+  @Test
+  void fallBackForOtherDurations() {
+    // ASSERT
+    assertThat(TimeParser.parseDuration("P"), nullValue());
+    assertThat(TimeParser.parseDuration("PT"), nullValue());
+    assertThat(TimeParser.parseDuration("PT1M1H"), nullValue());
+    assertThat(TimeParser.parseDuration("PT1.5H"), nullValue());
+    assertThat(TimeParser.parseDuration("pt30s"), nullValue());
+    assertThat(TimeParser.parseDuration("PT-30S"), nullValue());
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.converters;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TokenizerTest {
+
+  @Test
+  void splitByMultiCharacterSeparator() {
+    // ARRANGE
+    Tokenizer tokenizer = new Tokenizer("a::b:c::", "::", false, false);
+
+    // ACT
+    List<String> tokens = tokens(tokenizer);
+
+    // ASSERT
+    assertThat(tokens, contains("a", "b:c", ""));
+  }
+
+  @Test
+  void trimTokensWithoutCopyingThem() {
+    // ARRANGE
+    String input = " 1 , 22 ";
+    Tokenizer tokenizer = new Tokenizer(input, ",", true, false);
+
+    // ACT
+    tokenizer.next();
+
+    // ASSERT
+    assertThat(tokenizer.source() == input, equalTo(true));
+    assertThat(tokenizer.from(), equalTo(1));
+    assertThat(tokenizer.to(), equalTo(2));
+  }
+
+  @Test
+  void unescapeSeparatorsAndBackslashes() {
+    // ARRANGE
+    Tokenizer tokenizer = new Tokenizer("a\\,b,c\\\\,d", ",", false, true);
+
+    // ACT
+    List<String> tokens = tokens(tokenizer);
+
+    // ASSERT
+    assertThat(tokens, contains("a,b", "c\\", "d"));
+  }
+
+  @Test
+  void splitStringLikeStringSplit() {
+    // ASSERT
+    assertThat(ConverterUtils.splitString("a,,b,,", ",", false, false), contains("a", "", "b"));
+    assertThat(ConverterUtils.splitString("", ",", false, false), contains(""));
+    assertThat(ConverterUtils.splitString(" a , b ", ",", true, false), contains("a", "b"));
+  }
+
+  private static List<String> tokens(Tokenizer tokenizer) {
+    List<String> tokens = new ArrayList<>();
+    while (tokenizer.next()) {
+      tokens.add(tokenizer.token());
+    }
+    return tokens;
+  }
+}
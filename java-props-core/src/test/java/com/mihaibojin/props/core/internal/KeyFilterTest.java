@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class KeyFilterTest {
+
+  @Test
+  void containsAllAddedKeys() {
+    // ARRANGE
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      keys.add("key." + i);
+    }
+
+    // ACT
+    KeyFilter filter = KeyFilter.of(keys);
+
+    // ASSERT
+    for (String key : keys) {
+      assertThat(filter.mightContain(key), equalTo(true));
+    }
+    assertThat(filter.isSaturated(), equalTo(false));
+  }
+
+  @Test
+  void rejectsMostMissingKeys() {
+    // ARRANGE
+    KeyFilter filter = new KeyFilter(10_000);
+    for (int i = 0; i < 10_000; i++) {
+      filter.add("key." + i);
+    }
+
+    // ACT
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain("missing." + i)) {
+        falsePositives++;
+      }
+    }
+
+    // ASSERT
+    assertThat(falsePositives, lessThan(300));
+  }
+
+  @Test
+  void saturatesWhenOverfilled() {
+    // ARRANGE
+    KeyFilter filter = new KeyFilter(0);
+
+    // ACT
+    for (int i = 0; i < 65; i++) {
+      filter.add("key." + i);
+    }
+
+    // ASSERT
+    assertThat(filter.isSaturated(), equalTo(true));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TemplateTest {
+
+  @Test
+  void renderTokensInASinglePass() {
+    // ARRANGE
+    Template template = Template.compile("{scheme}://{host}:{port}/{host}");
+    List<String> retrieved = new ArrayList<>();
+    Map<String, String> values = Map.of("scheme", "https", "host", "example.com", "port", "443");
+
+    // ACT
+    String rendered =
+        template.render(
+            token -> {
+              retrieved.add(token);
+              return values.get(token);
+            });
+
+    // ASSERT
+    assertThat(rendered, equalTo("https://example.com:443/example.com"));
+    assertThat(retrieved, contains("scheme", "host", "port"));
+  }
+
+  @Test
+  void renderEscapedAndInvalidTokensVerbatim() {
+    // ARRANGE
+    Template template = Template.compile("\\{escaped} {in valid} {valid} {value}");
+
+    // ACT
+    String rendered = template.render(token -> "{" + token.toUpperCase() + "}");
+
+    // ASSERT
+    assertThat(template.tokens(), contains("valid", "value"));
+    assertThat(rendered, equalTo("\\{escaped} {in valid} {VALID} {VALUE}"));
+  }
+
+  @Test
+  void renderTemplatesWithoutTokens() {
+    // ARRANGE
+    Template template = Template.compile("");
+
+    // ACT
+    String rendered = template.render(token -> "unused");
+
+    // ASSERT
+    assertThat(rendered, equalTo(""));
+    assertThat(template.isCompiledFrom(""), equalTo(true));
+  }
+}
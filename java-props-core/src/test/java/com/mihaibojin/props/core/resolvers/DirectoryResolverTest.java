@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DirectoryResolverTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void reloadProjectedVolumesWhenTheDataLinkChanges() throws IOException {
+    // ARRANGE
+    project("..2024_01_01", Map.of("same", "value\n", "changed", "one", "removed", "value"));
+    DirectoryResolver resolver = new DirectoryResolver(directory, true);
+    Set<String> loaded = resolver.reload();
+    Set<String> unchanged = resolver.reload();
+
+    // ACT
+    project("..2024_01_02", Map.of("same", "value\n", "changed", "two", "added", "value"));
+    Set<String> changed = resolver.reload();
+
+    // ASSERT
+    assertThat(loaded, containsInAnyOrder("same", "changed", "removed"));
+    assertThat(unchanged, empty());
+    assertThat(changed, containsInAnyOrder("changed", "added", "removed"));
+    assertThat(resolver.get("same"), equalTo("value"));
+    assertThat(resolver.get("changed"), equalTo("two"));
+    assertThat(resolver.get("removed"), nullValue());
+    assertThat(resolver.keys(), containsInAnyOrder("same", "changed", "added"));
+  }
+
+  @Test
+  void reloadOnlyChangedFilesInPlainDirectories() throws IOException {
+    // ARRANGE
+    Instant modified = Instant.now().minusSeconds(60);
+    write(directory.resolve("same"), "value", modified);
+    write(directory.resolve("changed"), "one", modified);
+    write(directory.resolve(".hidden"), "value", modified);
+    DirectoryResolver resolver = new DirectoryResolver(directory, true);
+    resolver.reload();
+
+    // ACT
+    write(directory.resolve("changed"), "two", modified.plusSeconds(30));
+    Set<String> changed = resolver.reload();
+
+    // ASSERT
+    assertThat(changed, containsInAnyOrder("changed"));
+    assertThat(resolver.get("changed"), equalTo("two"));
+    assertThat(resolver.keys(), containsInAnyOrder("same", "changed"));
+  }
+
+  @Test
+  void skipFilesWhichAreNotValidUtf8() throws IOException {
+    // ARRANGE
+    Instant modified = Instant.now().minusSeconds(60);
+    write(directory.resolve("text"), "value", modified);
+    Path keystore = directory.resolve("keystore.jks");
+    Files.write(keystore, new byte[] {(byte) 0xfe, (byte) 0xed, (byte) 0xfe, (byte) 0xed, 0, 2});
+    Files.setLastModifiedTime(keystore, FileTime.from(modified));
+    DirectoryResolver resolver = new DirectoryResolver(directory, true);
+
+    // ACT
+    Set<String> loaded = resolver.reload();
+    Set<String> unchanged = resolver.reload();
+
+    // ASSERT
+    assertThat(loaded, containsInAnyOrder("text"));
+    assertThat(unchanged, empty());
+    assertThat(resolver.get("text"), equalTo("value"));
+    assertThat(resolver.get("keystore.jks"), nullValue());
+  }
+
+  /**
+   * Mimics how Kubernetes updates projected volumes: writes all files into a new directory, swaps
+   * the <code>..data</code> link, links any new keys, and deletes the previous directory.
+   */
+  private void project(String version, Map<String, String> files) throws IOException {
+    Path data = Files.createDirectory(directory.resolve(version));
+    for (Map.Entry<String, String> file : files.entrySet()) {
+      write(data.resolve(file.getKey()), file.getValue(), Instant.now());
+    }
+
+    Path dataLink = directory.resolve(DirectoryResolver.DATA_LINK);
+    Path previous = Files.isSymbolicLink(dataLink) ? Files.readSymbolicLink(dataLink) : null;
+    Path tmpLink = Files.createSymbolicLink(directory.resolve("..data_tmp"), Path.of(version));
+    Files.move(tmpLink, dataLink, StandardCopyOption.ATOMIC_MOVE);
+
+    for (String key : files.keySet()) {
+      Path link = directory.resolve(key);
+      if (!Files.isSymbolicLink(link)) {
+        Files.createSymbolicLink(link, Path.of(DirectoryResolver.DATA_LINK, key));
+      }
+    }
+
+    if (previous != null) {
+      try (Stream<Path> paths = Files.walk(directory.resolve(previous))) {
+        for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+          Files.delete(path);
+        }
+      }
+    }
+  }
+
+  private static void write(Path file, String contents, Instant modified) throws IOException {
+    Files.writeString(file, contents);
+    Files.setLastModifiedTime(file, FileTime.from(modified));
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedPropertyFileResolverTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void readPropertiesAsPropertiesLoadDoes() throws IOException {
+    // ARRANGE
+    Path file =
+        write(
+            "config.properties",
+            "# comment\n"
+                + "! another comment\n"
+                + "  simple=value\n"
+                + "colon:value\n"
+                + "spaced   =   value with trailing space \n"
+                + "whitespace separated\n"
+                + "escaped\\ key\\=with\\:separators=\\tescaped\\nvalue\\\\\n"
+                + "unicode=caf\\u00e9\n"
+                + "continued=first \\\n"
+                + "      second\\\r\n"
+                + "  third\r"
+                + "empty\n"
+                + "duplicate=first\n"
+                + "duplicate=second",
+            Instant.now().minusSeconds(60));
+    MappedPropertyFileResolver resolver = new MappedPropertyFileResolver(file);
+    Properties expected = new Properties();
+    try (InputStream stream = Files.newInputStream(file)) {
+      expected.load(stream);
+    }
+
+    // ACT
+    Set<String> loaded = resolver.reload();
+
+    // ASSERT
+    assertThat(loaded, equalTo(expected.stringPropertyNames()));
+    for (String key : expected.stringPropertyNames()) {
+      assertThat(resolver.get(key), equalTo(expected.getProperty(key)));
+    }
+    assertThat(resolver.get("missing"), nullValue());
+  }
+
+  @Test
+  void reloadReturnsChangedAndRemovedKeys() throws IOException {
+    // ARRANGE
+    Path file =
+        write(
+            "config.properties",
+            "same=value\nchanged=one\nremoved=value",
+            Instant.now().minusSeconds(60));
+    MappedPropertyFileResolver resolver = new MappedPropertyFileResolver(file, true);
+    resolver.reload();
+
+    // ACT
+    // replace the file, since mapped files should not be modified in place
+    Path replacement =
+        write("replacement.properties", "added=value\nsame=value\nchanged=two", Instant.now());
+    Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING);
+    Set<String> changed = resolver.reload();
+
+    // ASSERT
+    assertThat(changed, containsInAnyOrder("added", "changed", "removed"));
+    assertThat(resolver.get("changed"), equalTo("two"));
+    assertThat(resolver.get("removed"), nullValue());
+  }
+
+  @Test
+  void recentlyWrittenFilesAreNotReportedAsModifiedWhenReloadedAgain() throws IOException {
+    // ARRANGE
+    Path file = write("config.properties", "key=value", Instant.now());
+    MappedPropertyFileResolver resolver = new MappedPropertyFileResolver(file, true);
+    resolver.reload();
+    resolver.get("key");
+
+    // ACT
+    Set<String> changed = resolver.reload();
+
+    // ASSERT
+    assertThat(changed, empty());
+    assertThat(resolver.get("key"), equalTo("value"));
+  }
+
+  @Test
+  void filesModifiedInPlaceAreCopiedAndOnlyReadKeysAreReported() throws IOException {
+    // ARRANGE
+    Path file =
+        write(
+            "config.properties",
+            "read=one\nunread=one\nremoved=value",
+            Instant.now().minusSeconds(60));
+    MappedPropertyFileResolver resolver = new MappedPropertyFileResolver(file, true);
+    resolver.reload();
+    resolver.get("read");
+    resolver.get("removed");
+    resolver.get("added");
+
+    // ACT
+    write("config.properties", "read=two\nunread=two\nadded=value", Instant.now().minusSeconds(30));
+    Set<String> changed = resolver.reload();
+    write("config.properties", "read=two\nunread=three\nadded=value", Instant.now());
+    Set<String> changedAgain = resolver.reload();
+
+    // ASSERT
+    assertThat(changed, containsInAnyOrder("read", "removed", "added"));
+    assertThat(changedAgain, containsInAnyOrder("unread"));
+    assertThat(resolver.get("read"), equalTo("two"));
+    assertThat(resolver.get("unread"), equalTo("three"));
+    assertThat(resolver.get("added"), equalTo("value"));
+    assertThat(resolver.get("removed"), nullValue());
+  }
+
+  /** Writes the specified contents, and sets the file's modification time. */
+  private Path write(String name, String contents, Instant modified) throws IOException {
+    Path file = directory.resolve(name);
+    Files.writeString(file, contents, StandardCharsets.ISO_8859_1);
+    Files.setLastModifiedTime(file, FileTime.from(modified));
+    return file;
+  }
+}
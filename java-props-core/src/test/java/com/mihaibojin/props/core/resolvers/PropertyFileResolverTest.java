@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+import com.mihaibojin.props.core.Prop;
+import com.mihaibojin.props.core.Props;
+import com.mihaibojin.props.core.RefreshPolicy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PropertyFileResolverTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void skipFilesWithUnchangedAttributes() throws IOException {
+    // ARRANGE
+    Instant modified = Instant.now().minusSeconds(60);
+    Path file = write("config.properties", "key=one", modified);
+    PropertyFileResolver resolver = new PropertyFileResolver(file, true);
+    resolver.reload();
+
+    // ACT
+    // change the contents, but preserve the file's size and modification time
+    write("config.properties", "key=two", modified);
+    Set<String> changed = resolver.reload();
+
+    // ASSERT
+    assertThat(changed, empty());
+    assertThat(resolver.get("key"), equalTo("one"));
+  }
+
+  @Test
+  void reloadFilesWithChangedAttributes() throws IOException {
+    // ARRANGE
+    Path file = write("config.properties", "key=one", Instant.now().minusSeconds(60));
+    PropertyFileResolver resolver = new PropertyFileResolver(file, true);
+    resolver.reload();
+
+    // ACT
+    write("config.properties", "key=two", Instant.now().minusSeconds(30));
+    Set<String> changed = resolver.reload();
+
+    // ASSERT
+    assertThat(changed, contains("key"));
+    assertThat(resolver.get("key"), equalTo("two"));
+  }
+
+  @Test
+  void deferRecentlyModifiedFiles() throws IOException {
+    // ARRANGE
+    Path file = write("config.properties", "key=one", Instant.now());
+    PropertyFileResolver resolver =
+        new PropertyFileResolver(file, true).quietPeriod(Duration.ofMinutes(1));
+
+    // ACT
+    Set<String> deferred = resolver.reload();
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(120)));
+    Set<String> loaded = resolver.reload();
+
+    // ASSERT
+    assertThat(deferred, empty());
+    assertThat(loaded, contains("key"));
+  }
+
+  @Test
+  void skipTouchedFilesWithUnchangedContents() throws IOException {
+    // ARRANGE
+    Path file = write("config.properties", "key=one", Instant.now().minusSeconds(60));
+    PropertyFileResolver resolver = new PropertyFileResolver(file, true).verifyContents(true);
+    resolver.reload();
+
+    // ACT
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(30)));
+    Set<String> changed = resolver.reload();
+
+    // ASSERT
+    assertThat(changed, empty());
+    assertThat(resolver.get("key"), equalTo("one"));
+  }
+
+  @Test
+  void largeFilesAreParsedOnTheSpecifiedExecutor() throws IOException {
+    // ARRANGE
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 200_000; i++) {
+      sb.append("key").append(i).append("=value").append(i).append('\n');
+    }
+    Path file = write("config.properties", sb.toString(), Instant.now().minusSeconds(60));
+    AtomicInteger tasks = new AtomicInteger();
+    PropertyFileResolver resolver =
+        new PropertyFileResolver(file)
+            .parallelism(
+                4,
+                task -> {
+                  tasks.incrementAndGet();
+                  task.run();
+                });
+
+    // ACT
+    Set<String> loaded = resolver.reload();
+
+    // ASSERT
+    assertThat(loaded, hasSize(200_000));
+    assertThat(resolver.get("key0"), equalTo("value0"));
+    assertThat(resolver.get("key199999"), equalTo("value199999"));
+    assertThat(tasks.get(), greaterThan(0));
+  }
+
+  @Test
+  void watchedFilesAreReloadedOnceTheQuietPeriodElapses() throws Exception {
+    // ARRANGE
+    Path file = write("config.properties", "key=one", Instant.now().minusSeconds(60));
+    PropertyFileResolver resolver =
+        new PropertyFileResolver(file, true)
+            .watchChanges(Duration.ofMillis(50))
+            .quietPeriod(Duration.ofMillis(500));
+
+    try (Props props =
+        Props.factory().withResolver(resolver, RefreshPolicy.every(Duration.ofHours(1))).build()) {
+      Prop<String> prop = props.prop("key").build();
+
+      // ACT
+      // the watch is notified before the quiet period elapses, deferring the first reload
+      Path temp = write("config.properties.tmp", "key=two", Instant.now());
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+      // ASSERT
+      long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+      while (!"two".equals(prop.value()) && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(prop.value(), equalTo("two"));
+    }
+  }
+
+  @Test
+  void watchedFilesAreReloadedWithoutWaitingForTheRefreshInterval() throws Exception {
+    // ARRANGE
+    Path file = write("config.properties", "key=one", Instant.now().minusSeconds(60));
+    PropertyFileResolver resolver =
+        new PropertyFileResolver(file, true).watchChanges(Duration.ofMillis(50));
+
+    try (Props props =
+        Props.factory().withResolver(resolver, RefreshPolicy.every(Duration.ofHours(1))).build()) {
+      Prop<String> prop = props.prop("key").build();
+
+      // ACT
+      // replace the file, as editors do
+      Path temp = write("config.properties.tmp", "key=two", Instant.now());
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+      // ASSERT
+      long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+      while (!"two".equals(prop.value()) && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertThat(prop.value(), equalTo("two"));
+    }
+  }
+
+  /** Writes the specified contents, and sets the file's modification time. */
+  private Path write(String name, String contents, Instant modified) throws IOException {
+    Path file = directory.resolve(name);
+    Files.writeString(file, contents);
+    Files.setLastModifiedTime(file, FileTime.from(modified));
+    return file;
+  }
+}
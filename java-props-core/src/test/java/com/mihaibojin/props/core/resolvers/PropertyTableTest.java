@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 Mihai Bojin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mihaibojin.props.core.resolvers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class PropertyTableTest {
+
+  @Test
+  void lastValueWins() {
+    // ARRANGE
+    PropertyTable.Builder builder = new PropertyTable.Builder();
+    for (int i = 0; i < 1000; i++) {
+      builder.accept("key" + i, "first");
+    }
+
+    // ACT
+    builder.accept("key1", "second");
+    PropertyTable table = builder.build();
+
+    // ASSERT
+    assertThat(table.size(), equalTo(1000));
+    assertThat(new HashSet<>(table.keys()).size(), equalTo(1000));
+    assertThat(table.get("key0"), equalTo("first"));
+    assertThat(table.get("key1"), equalTo("second"));
+    assertThat(table.get("missing"), nullValue());
+  }
+
+  @Test
+  void changedSinceIncludesRemovedKeys() {
+    // ARRANGE
+    PropertyTable.Builder previous = new PropertyTable.Builder();
+    previous.accept("same", "value");
+    previous.accept("changed", "one");
+    previous.accept("removed", "value");
+    PropertyTable.Builder updated = new PropertyTable.Builder();
+    updated.accept("same", "value");
+    updated.accept("changed", "two");
+    updated.accept("added", "value");
+
+    // ACT
+    Set<String> changed = updated.build().changedSince(previous.build());
+
+    // ASSERT
+    assertThat(changed, containsInAnyOrder("changed", "removed", "added"));
+  }
+
+  @Test
+  void tablesWithTheSameEntriesHaveNoChanges() {
+    // ARRANGE
+    PropertyTable.Builder previous = new PropertyTable.Builder();
+    previous.accept("one", "1");
+    previous.accept("two", "2");
+    PropertyTable.Builder updated = new PropertyTable.Builder();
+    updated.accept("two", "overridden");
+    updated.accept("one", "1");
+    updated.accept("two", "2");
+
+    // ACT
+    Set<String> changed = updated.build().changedSince(previous.build());
+
+    // ASSERT
+    assertThat(changed, empty());
+  }
+}
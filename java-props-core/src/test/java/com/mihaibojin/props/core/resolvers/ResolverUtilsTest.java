@@ -17,10 +17,22 @@
 package com.mihaibojin.props.core.resolvers;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.Test;
 
 class ResolverUtilsTest {
@@ -36,6 +48,17 @@ class ResolverUtilsTest {
     assertThat(resolver, instanceOf(ClasspathPropertyFileResolver.class));
   }
 
+  @Test
+  void readConfigLineDirectory() {
+    // ACT
+    Resolver resolver = ResolverUtils.readConfigLine("dir=/etc/config,true");
+
+    // ASSERT
+    assertThat(resolver.id(), equalTo("/etc/config"));
+    assertThat(resolver.isReloadable(), equalTo(true));
+    assertThat(resolver, instanceOf(DirectoryResolver.class));
+  }
+
   @Test
   void readConfigLineFile() {
     // ACT
@@ -98,4 +121,139 @@ class ResolverUtilsTest {
         () -> ResolverUtils.readConfigLine("file=file.properties,invalid"),
         "Only true or false are allowed as values for 'reloadable'");
   }
+
+  @Test
+  void readResolverConfigSkipsCommentsAndBlankLines() {
+    // ARRANGE
+    String config =
+        "# production.config\nsystem\n\n  # reloaded on changes\ndir=/etc/config,true\n";
+
+    // ACT
+    List<Resolver> resolvers =
+        ResolverUtils.readResolverConfig(
+            new ByteArrayInputStream(config.getBytes(StandardCharsets.UTF_8)));
+
+    // ASSERT
+    assertThat(resolvers, hasSize(2));
+    assertThat(resolvers.get(0), instanceOf(SystemPropertyResolver.class));
+    assertThat(resolvers.get(1), instanceOf(DirectoryResolver.class));
+  }
+
+  @Test
+  void loadPropertiesAsPropertiesLoadDoes() throws IOException {
+    // ARRANGE
+    String contents =
+        "# comment\n"
+            + "  simple=value\n"
+            + "colon:value\n"
+            + "whitespace separated\n"
+            + "escaped\\ key\\=with\\:separators=\\tescaped\\nvalue\\\\\n"
+            + "unicode=caf\\u00e9\n"
+            + "continued=first \\\r\n"
+            + "      second\n"
+            + "empty";
+    Properties expected = new Properties();
+    expected.load(stream(contents));
+
+    // ACT
+    Map<String, String> loaded = ResolverUtils.loadPropertiesFromStream(stream(contents));
+
+    // ASSERT
+    assertThat(loaded.keySet(), equalTo(expected.stringPropertyNames()));
+    for (String key : expected.stringPropertyNames()) {
+      assertThat(loaded.get(key), equalTo(expected.getProperty(key)));
+    }
+  }
+
+  @Test
+  void loadPropertiesReadInSmallBlocksAsPropertiesLoadDoes() throws IOException {
+    // ARRANGE
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("key").append(i % 10).append("=value").append(i).append("\\\r\n  continued\r\n");
+      sb.append("# comment \\\n");
+      sb.append("escaped").append(i).append("=\\\\\r");
+      sb.append("\\\n");
+    }
+    // a line which is longer than the parser's buffer
+    sb.append("long=").append("x".repeat(20_000)).append("\\\n").append("end");
+    byte[] contents = sb.toString().getBytes(StandardCharsets.ISO_8859_1);
+    Properties expected = new Properties();
+    expected.load(new ByteArrayInputStream(contents));
+
+    // ACT
+    Map<String, String> loaded =
+        ResolverUtils.loadPropertiesFromStream(
+            new ByteArrayInputStream(contents) {
+              @Override
+              public synchronized int read(byte[] b, int off, int len) {
+                // return fewer bytes than requested, splitting lines and line breaks
+                return super.read(b, off, Math.min(len, 7));
+              }
+            });
+
+    // ASSERT
+    assertThat(loaded.keySet(), equalTo(expected.stringPropertyNames()));
+    for (String key : expected.stringPropertyNames()) {
+      assertThat(loaded.get(key), equalTo(expected.getProperty(key)));
+    }
+  }
+
+  @Test
+  void parseInParallel() throws IOException {
+    // ARRANGE
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      sb.append("key").append(i % 10).append("=value").append(i).append("\\\r\n  continued\r\n");
+      sb.append("# comment \\\n");
+      sb.append("escaped").append(i).append("=\\\\\n");
+    }
+    byte[] contents = sb.toString().getBytes(StandardCharsets.ISO_8859_1);
+    Map<String, String> expected =
+        ResolverUtils.loadPropertiesFromStream(new ByteArrayInputStream(contents));
+
+    for (int parallelism = 1; parallelism <= 16; parallelism++) {
+      // ACT
+      Map<String, String> parsed = new HashMap<>();
+      ResolverUtils.parseInParallel(contents, parallelism, ForkJoinPool.commonPool(), parsed::put);
+
+      // ASSERT
+      assertThat(parsed, equalTo(expected));
+    }
+  }
+
+  @Test
+  void mergeMapsInPlace() {
+    // ARRANGE
+    Map<String, String> collector =
+        new HashMap<>(Map.of("same", "value", "changed", "one", "removed", "value"));
+
+    // ACT
+    Set<String> changed =
+        ResolverUtils.mergeMapsInPlace(
+            collector, Map.of("same", "value", "changed", "two", "added", "value"));
+
+    // ASSERT
+    assertThat(changed, containsInAnyOrder("changed", "added", "removed"));
+    assertThat(collector, equalTo(Map.of("same", "value", "changed", "two", "added", "value")));
+  }
+
+  @Test
+  void mergeMapsInPlaceDeletesKeysWhenUpdatedHoldsNullValues() {
+    // ARRANGE
+    Map<String, String> collector = new HashMap<>(Map.of("removed", "value"));
+    Map<String, String> updated = new HashMap<>();
+    updated.put("undefined", null);
+
+    // ACT
+    Set<String> changed = ResolverUtils.mergeMapsInPlace(collector, updated);
+
+    // ASSERT
+    assertThat(changed, containsInAnyOrder("removed"));
+    assertThat(collector, equalTo(Map.of()));
+  }
+
+  private static InputStream stream(String contents) {
+    return new ByteArrayInputStream(contents.getBytes(StandardCharsets.ISO_8859_1));
+  }
 }
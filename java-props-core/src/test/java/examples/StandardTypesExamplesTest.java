@@ -21,8 +21,18 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItems;
 
 import com.mihaibojin.props.core.Props;
+import com.mihaibojin.props.core.ValidationException;
+import com.mihaibojin.props.core.annotations.Nullable;
 import com.mihaibojin.props.core.converters.Cast;
 import com.mihaibojin.props.core.resolvers.ClasspathPropertyFileResolver;
+import com.mihaibojin.props.core.resolvers.InMemoryResolver;
+import com.mihaibojin.props.core.types.AbstractBooleanProp;
+import com.mihaibojin.props.core.types.AbstractDoubleProp;
+import com.mihaibojin.props.core.types.AbstractIntegerProp;
+import com.mihaibojin.props.core.types.AbstractLongProp;
+import com.mihaibojin.props.core.types.DoubleArray;
+import com.mihaibojin.props.core.types.IntArray;
+import com.mihaibojin.props.core.types.LongArray;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
@@ -31,6 +41,7 @@ import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -226,6 +237,28 @@ public class StandardTypesExamplesTest {
         hasItems(equalTo("one"), equalTo("two"), equalTo("three")));
   }
 
+  @Test
+  void readPrimitiveArrays() {
+    // initialize props and read their values once
+    IntArray ints = props.prop("an.integer.list", Cast.asIntArray()).value();
+    LongArray longs = props.prop("a.long.list", Cast.asLongArray()).value();
+    DoubleArray doubles = props.prop("a.double.list", Cast.asDoubleArray()).value();
+
+    // assert that the values are retrieved
+    assertThat("Expected to read the property", ints, equalTo(IntArray.of(1, 2, 3)));
+    assertThat("Expected to read the property", longs, equalTo(LongArray.of(1, 2, 3)));
+    assertThat("Expected to read the property", doubles, equalTo(DoubleArray.of(1, 2, 3)));
+  }
+
+  @Test
+  void primitiveArraysSkipEmptyAndInvalidItems() {
+    // decode a value with whitespace, empty, and invalid items
+    LongArray maybeValue = Cast.asLongArray().decode(" 1, 2,,x, 3 ");
+
+    // assert that only the valid items are retained
+    assertThat("Expected to skip the invalid items", maybeValue, equalTo(LongArray.of(1, 2, 3)));
+  }
+
   @Test
   void readPath() {
     // initialize a prop and read its value once
@@ -247,4 +280,90 @@ public class StandardTypesExamplesTest {
         maybeValue,
         equalTo(Path.of(System.getProperty("user.home"))));
   }
+
+  @Test
+  void readUnboxedValues() {
+    // bind props which can be read without boxing their values
+    IntegerProp anInteger = props.bind(new IntegerProp("an.integer", null));
+    LongProp aLong = props.bind(new LongProp("a.long"));
+    DoubleProp aDouble = props.bind(new DoubleProp("a.double"));
+    BooleanProp aBoolean = props.bind(new BooleanProp("a.boolean"));
+    IntegerProp aDefault = props.bind(new IntegerProp("undefined.integer", 5));
+
+    // assert that the values are retrieved
+    assertThat("Expected to read the unboxed value", anInteger.getAsInt(), equalTo(1));
+    assertThat("Expected to read the unboxed value", aLong.getAsLong(), equalTo(1L));
+    assertThat("Expected to read the unboxed value", aDouble.getAsDouble(), equalTo(1.0d));
+    assertThat("Expected to read the unboxed value", aBoolean.getAsBoolean(), equalTo(true));
+    assertThat("Expected to read the default value", aDefault.getAsInt(), equalTo(5));
+  }
+
+  @Test
+  void unboxedValueRequiresAValueOrADefault() {
+    IntegerProp aProp = props.bind(new IntegerProp("undefined.integer", null));
+
+    Assertions.assertThrows(
+        ValidationException.class,
+        aProp::getAsInt,
+        "Expecting unboxed reads to throw, if the prop has neither a value nor a default");
+  }
+
+  @Test
+  void unboxedValuesFollowUpdates() throws InterruptedException {
+    // bind a prop to a resolver which is reloaded frequently
+    InMemoryResolver resolver = new InMemoryResolver();
+    resolver.set("an.integer", "1");
+    Props reloading =
+        Props.factory().withResolver(resolver).refreshInterval(Duration.ofMillis(10)).build();
+    IntegerProp aProp = reloading.bind(new IntegerProp("an.integer", 5));
+
+    // update the value, and wait for the prop to observe it
+    resolver.set("an.integer", "2");
+    long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (aProp.getAsInt() != 2 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    reloading.close();
+
+    // assert that the unboxed value matches the boxed one
+    assertThat("Expected to read the updated value", aProp.getAsInt(), equalTo(2));
+    assertThat("Expected to match the boxed value", aProp.value(), equalTo(2));
+  }
+
+  @Test
+  void decodeUnboxedValues() {
+    // assert that values are decoded to primitives
+    assertThat(Cast.asIntValue().decodeAsInt("42"), equalTo(42));
+    assertThat(Cast.asLongValue().decodeAsLong("-42"), equalTo(-42L));
+    assertThat(Cast.asDoubleValue().decodeAsDouble("4.2"), equalTo(4.2d));
+    assertThat(Cast.asBooleanValue().decodeAsBoolean("true"), equalTo(true));
+    Assertions.assertThrows(
+        NumberFormatException.class,
+        () -> Cast.asIntValue().decodeAsInt("4.2"),
+        "Expecting unparseable values to throw, since they cannot be returned as null");
+  }
+
+  private static class IntegerProp extends AbstractIntegerProp {
+    private IntegerProp(String key, @Nullable Integer defaultValue) {
+      super(key, defaultValue, null, false, false);
+    }
+  }
+
+  private static class LongProp extends AbstractLongProp {
+    private LongProp(String key) {
+      super(key, null, null, false, false);
+    }
+  }
+
+  private static class DoubleProp extends AbstractDoubleProp {
+    private DoubleProp(String key) {
+      super(key, null, null, false, false);
+    }
+  }
+
+  private static class BooleanProp extends AbstractBooleanProp {
+    private BooleanProp(String key) {
+      super(key, null, null, false, false);
+    }
+  }
 }